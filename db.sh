@@ -11,7 +11,7 @@ DB_PORT="5432"
 export PGPASSWORD=$DB_PASS
 
 function show_usage() {
-    echo "Usage: $0 {shell|tables|list <table_name>|describe <table_name>|exec \"<sql>\"|users|properties|categories}"
+    echo "Usage: $0 {shell|tables|list <table_name>|describe <table_name>|exec \"<sql>\"|users|properties|categories|bench-search}"
     echo ""
     echo "Commands:"
     echo "  shell               Enter interactive psql shell"
@@ -23,6 +23,7 @@ function show_usage() {
     echo "  make-admin <user>   Grant ROLE_ADMIN to <username>"
     echo "  properties          Show all property listings"
     echo "  categories          Show all property categories"
+    echo "  bench-search        Compare property search plans without and with the search indexes"
 }
 
 case "$1" in
@@ -69,6 +70,9 @@ case "$1" in
     categories)
         psql -h $DB_HOST -p $DB_PORT -U $DB_USER -d $DB_NAME -c "SELECT id, name, description FROM categories;"
         ;;
+    bench-search)
+        psql -h $DB_HOST -p $DB_PORT -U $DB_USER -d $DB_NAME -f "$(dirname "$0")/db/benchmarks/property_search_plans.sql"
+        ;;
     *)
         show_usage
         exit 1
@@ -0,0 +1,44 @@
+-- Property search plan benchmark: ./db.sh bench-search
+--
+-- Loads 200k synthetic listings into a throwaway tenant, then runs the hottest
+-- search shapes twice: first with index access disabled (the plan PostgreSQL
+-- falls back to without the V1 search indexes), then with the planner's normal
+-- choice. Everything runs in one transaction that is rolled back at the end.
+
+\timing on
+BEGIN;
+
+INSERT INTO categories (name, description, tenant_id)
+SELECT 'Bench Category ' || c, 'Synthetic', 'bench-tenant'
+FROM generate_series(1, 5) c;
+
+INSERT INTO properties (title, description, price, location, status, category_id, tenant_id,
+                        created_at, updated_at, attributes, rating_sum, review_count)
+SELECT 'Listing ' || g,
+       'Synthetic listing',
+       (50000 + (g * 7919) % 2000000)::numeric,
+       (ARRAY['Downtown', 'North End', 'Palm Shore', 'Innovation Park', 'Suburbia'])[1 + g % 5] || ' Block ' || g % 400,
+       (ARRAY['AVAILABLE', 'PENDING', 'SOLD'])[1 + g % 3],
+       (SELECT min(id) FROM categories WHERE tenant_id = 'bench-tenant') + g % 5,
+       CASE WHEN g % 50 = 0 THEN 'bench-tenant' ELSE 'bench-other-' || g % 7 END,
+       now() - (g || ' minutes')::interval,
+       now() - (g || ' minutes')::interval,
+       jsonb_build_object('bedrooms', 1 + g % 6, 'furnished', g % 2 = 0),
+       0, 0
+FROM generate_series(1, 200000) g;
+
+ANALYZE properties;
+
+\echo '=== BEFORE: index access disabled ==='
+SET LOCAL enable_indexscan = off;
+SET LOCAL enable_bitmapscan = off;
+SET LOCAL enable_indexonlyscan = off;
+\ir property_search_queries.sql
+
+\echo '=== AFTER: with search indexes ==='
+RESET enable_indexscan;
+RESET enable_bitmapscan;
+RESET enable_indexonlyscan;
+\ir property_search_queries.sql
+
+ROLLBACK;
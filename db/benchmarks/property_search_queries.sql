@@ -0,0 +1,29 @@
+-- Search shapes issued by GET /api/v1/properties; included by property_search_plans.sql
+
+\echo '--- default listing (tenant, createdAt DESC) ---'
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT * FROM properties p WHERE p.tenant_id = 'bench-tenant'
+ORDER BY p.created_at DESC, p.id DESC LIMIT 20;
+
+\echo '--- price range sorted by price ---'
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT * FROM properties p WHERE p.tenant_id = 'bench-tenant' AND p.price BETWEEN 300000 AND 400000
+ORDER BY p.price, p.id LIMIT 20;
+
+\echo '--- category + status ---'
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT * FROM properties p
+WHERE p.tenant_id = 'bench-tenant' AND p.status = 'AVAILABLE'
+  AND p.category_id = (SELECT min(id) FROM categories WHERE tenant_id = 'bench-tenant')
+LIMIT 20;
+
+\echo '--- attribute containment ---'
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT * FROM properties p
+WHERE p.tenant_id = 'bench-tenant' AND p.attributes @> '{"bedrooms": 3, "furnished": true}'::jsonb
+LIMIT 20;
+
+\echo '--- location substring ---'
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT * FROM properties p WHERE p.tenant_id = 'bench-tenant' AND p.location ILIKE '%Block 350%'
+LIMIT 20;
@@ -0,0 +1,55 @@
+package com.assetmarket.api.benchmark;
+
+import com.assetmarket.api.security.AuthenticatedUser;
+import com.assetmarket.api.security.JwtUtils;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.*;
+
+import javax.crypto.SecretKey;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tokens verified per second by the request filter: the previous validate-then-
+ * extract flow (fresh key and parser for each of two parses) against
+ * {@link JwtUtils#parseClaims}.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JwtParsingBenchmark {
+
+    private static final String SECRET = "======================YourSecretKeyHere======================";
+
+    private JwtUtils jwtUtils;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtUtils = new JwtUtils(SECRET, 86400000);
+        token = jwtUtils.generateToken(
+                new AuthenticatedUser(1L, "benchmark-user", null, "benchmark-tenant", List.of("ROLE_USER")));
+    }
+
+    @Benchmark
+    public String validateThenExtract() {
+        Jwts.parser().verifyWith(key()).build().parse(token);
+        return Jwts.parser().verifyWith(key()).build()
+                .parseSignedClaims(token).getPayload().getSubject();
+    }
+
+    @Benchmark
+    public String parseClaims() {
+        return jwtUtils.parseClaims(token).map(Claims::getSubject).orElseThrow();
+    }
+
+    private static SecretKey key() {
+        return Keys.hmacShaKeyFor(Decoders.BASE64.decode(SECRET));
+    }
+}
@@ -0,0 +1,91 @@
+package com.assetmarket.api.benchmark;
+
+import com.assetmarket.api.service.TelegramInitDataValidator;
+import org.apache.commons.codec.digest.HmacAlgorithms;
+import org.apache.commons.codec.digest.HmacUtils;
+import org.openjdk.jmh.annotations.*;
+
+import java.net.URLDecoder;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Mini App logins validated per second: the previous flow (key derived per call,
+ * query string split into a map twice, user id pulled out with a regex) against
+ * {@link TelegramInitDataValidator}.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TelegramInitDataBenchmark {
+
+    private static final String BOT_TOKEN = "123456:benchmark-bot-token";
+
+    private TelegramInitDataValidator validator;
+    private String initData;
+
+    @Setup
+    public void setUp() {
+        validator = new TelegramInitDataValidator(BOT_TOKEN, Duration.ofDays(1));
+
+        Map<String, String> fields = new TreeMap<>();
+        fields.put("auth_date", String.valueOf(Instant.now().getEpochSecond()));
+        fields.put("query_id", "AAHdF6IQAAAAAN0XohDhrOrc");
+        fields.put("user", "{\"id\":279058397,\"first_name\":\"Vladislav\",\"last_name\":\"Kibenko\","
+                + "\"username\":\"vdkfrost\",\"language_code\":\"ru\",\"is_premium\":true,"
+                + "\"allows_write_to_pm\":true}");
+        String dataCheckString = fields.entrySet().stream()
+                .map(e -> e.getKey() + "=" + e.getValue())
+                .collect(Collectors.joining("\n"));
+        byte[] secretKey = new HmacUtils(HmacAlgorithms.HMAC_SHA_256, "WebAppData").hmac(BOT_TOKEN);
+        String hash = new HmacUtils(HmacAlgorithms.HMAC_SHA_256, secretKey).hmacHex(dataCheckString);
+        initData = fields.entrySet().stream()
+                .map(e -> e.getKey() + "=" + URLEncoder.encode(e.getValue(), StandardCharsets.UTF_8))
+                .collect(Collectors.joining("&")) + "&hash=" + hash;
+    }
+
+    @Benchmark
+    public String previous() {
+        if (!previousValidate(initData)) {
+            throw new IllegalStateException("invalid");
+        }
+        String userJson = parseQueryString(initData).get("user");
+        return userJson.replaceAll(".*\"id\":(\\d+),.*", "$1");
+    }
+
+    @Benchmark
+    public String validator() {
+        return validator.validate(initData).telegramId();
+    }
+
+    private static boolean previousValidate(String initData) {
+        Map<String, String> queries = parseQueryString(initData);
+        String hash = queries.remove("hash");
+        String dataCheckString = queries.entrySet().stream()
+                .sorted(Map.Entry.comparingByKey())
+                .map(e -> e.getKey() + "=" + e.getValue())
+                .collect(Collectors.joining("\n"));
+        byte[] secretKey = new HmacUtils(HmacAlgorithms.HMAC_SHA_256, "WebAppData").hmac(BOT_TOKEN);
+        return new HmacUtils(HmacAlgorithms.HMAC_SHA_256, secretKey).hmacHex(dataCheckString)
+                .equalsIgnoreCase(hash);
+    }
+
+    private static Map<String, String> parseQueryString(String query) {
+        return Arrays.stream(query.split("&"))
+                .map(param -> param.split("=", 2))
+                .collect(Collectors.toMap(
+                        p -> p[0],
+                        p -> URLDecoder.decode(p[1], StandardCharsets.UTF_8),
+                        (oldValue, newValue) -> oldValue));
+    }
+}
@@ -0,0 +1,107 @@
+package com.assetmarket.api.config;
+
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.micrometer.tagged.TaggedBulkheadMetrics;
+import io.github.resilience4j.micrometer.tagged.TaggedCircuitBreakerMetrics;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.IOException;
+import java.net.http.HttpClient;
+
+/**
+ * Builds the {@link RestTemplate}s used for calls to external services.
+ * <p>
+ * Each named client gets its own JDK {@link HttpClient} (pooled keep-alive
+ * connections, HTTP/2 where the server supports it) with the configured connect and
+ * read timeouts, behind a bulkhead that caps concurrent calls and a circuit breaker
+ * that fails fast while the service is down or slow. Requests are timed as
+ * {@code http.client.requests} tagged with the URI template, so call with templates
+ * rather than expanded URLs to keep secrets and ids out of the tags.
+ */
+@Component
+@EnableConfigurationProperties(OutboundHttpProperties.class)
+public class OutboundHttpClients {
+
+    private final RestTemplateBuilder restTemplateBuilder;
+    private final OutboundHttpProperties properties;
+    private final CircuitBreakerRegistry circuitBreakers = CircuitBreakerRegistry.ofDefaults();
+    private final BulkheadRegistry bulkheads = BulkheadRegistry.ofDefaults();
+
+    public OutboundHttpClients(RestTemplateBuilder restTemplateBuilder, OutboundHttpProperties properties,
+            MeterRegistry meterRegistry) {
+        this.restTemplateBuilder = restTemplateBuilder;
+        this.properties = properties;
+        TaggedCircuitBreakerMetrics.ofCircuitBreakerRegistry(circuitBreakers).bindTo(meterRegistry);
+        TaggedBulkheadMetrics.ofBulkheadRegistry(bulkheads).bindTo(meterRegistry);
+    }
+
+    /**
+     * Creates a client for {@code name}, resolving relative URI templates against
+     * {@code baseUrl}. Create one per integration and keep it.
+     */
+    public RestTemplate restTemplate(String name, String baseUrl) {
+        OutboundHttpProperties.Client client = properties.client(name);
+
+        HttpClient httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_2)
+                .connectTimeout(client.getConnectTimeout())
+                .build();
+        JdkClientHttpRequestFactory requestFactory = new JdkClientHttpRequestFactory(httpClient);
+        requestFactory.setReadTimeout(client.getReadTimeout());
+
+        return restTemplateBuilder
+                .rootUri(baseUrl)
+                .requestFactory(() -> requestFactory)
+                .additionalInterceptors(resilience(name, client))
+                .build();
+    }
+
+    private ClientHttpRequestInterceptor resilience(String name, OutboundHttpProperties.Client client) {
+        Bulkhead bulkhead = bulkheads.bulkhead(name, BulkheadConfig.custom()
+                .maxConcurrentCalls(client.getMaxConcurrentCalls())
+                .maxWaitDuration(client.getMaxWaitDuration())
+                .build());
+        CircuitBreaker circuitBreaker = circuitBreakers.circuitBreaker(name, CircuitBreakerConfig.custom()
+                .failureRateThreshold(client.getFailureRateThreshold())
+                .slowCallDurationThreshold(client.getSlowCallDuration())
+                .slidingWindowSize(client.getSlidingWindowSize())
+                .minimumNumberOfCalls(client.getMinimumNumberOfCalls())
+                .waitDurationInOpenState(client.getWaitDurationInOpenState())
+                // Server errors count as failures even though no exception is thrown here
+                .recordResult(result -> result instanceof ClientHttpResponse response && isServerError(response))
+                .build());
+
+        return (request, body, execution) -> {
+            try {
+                return Bulkhead.decorateCheckedSupplier(bulkhead,
+                        CircuitBreaker.decorateCheckedSupplier(circuitBreaker,
+                                () -> execution.execute(request, body)))
+                        .get();
+            } catch (IOException | RuntimeException e) {
+                throw e;
+            } catch (Throwable e) {
+                throw new IOException(e);
+            }
+        };
+    }
+
+    private static boolean isServerError(ClientHttpResponse response) {
+        try {
+            return response.getStatusCode().is5xxServerError();
+        } catch (IOException e) {
+            return true;
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.assetmarket.api.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Settings for outbound HTTP clients, keyed by client name under
+ * {@code outbound.http.clients.<name>}. Unconfigured clients use the defaults below.
+ */
+@Data
+@ConfigurationProperties(prefix = "outbound.http")
+public class OutboundHttpProperties {
+
+    private Map<String, Client> clients = new HashMap<>();
+
+    public Client client(String name) {
+        return clients.getOrDefault(name, new Client());
+    }
+
+    @Data
+    public static class Client {
+        private Duration connectTimeout = Duration.ofSeconds(2);
+        private Duration readTimeout = Duration.ofSeconds(10);
+
+        /** Bulkhead: calls in flight at once, and how long a caller waits for a slot. */
+        private int maxConcurrentCalls = 20;
+        private Duration maxWaitDuration = Duration.ZERO;
+
+        /** Circuit breaker: opens when this share of recent calls failed or was slow. */
+        private float failureRateThreshold = 50;
+        private Duration slowCallDuration = Duration.ofSeconds(5);
+        private int slidingWindowSize = 20;
+        private int minimumNumberOfCalls = 10;
+        private Duration waitDurationInOpenState = Duration.ofSeconds(30);
+    }
+}
@@ -0,0 +1,101 @@
+package com.assetmarket.api.config;
+
+import com.assetmarket.api.entity.SchemaMigration;
+import com.assetmarket.api.repository.SchemaMigrationRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Applies the versioned SQL scripts in {@code classpath:db/migration} that
+ * Hibernate's {@code ddl-auto} cannot express (GIN/trigram indexes, extensions,
+ * data backfills). Runs once every singleton, and with them Hibernate's entity
+ * tables, exists: before the web server accepts requests, so no request sees a
+ * half-migrated schema, and before any runner, e.g. the {@link DataSeeder}.
+ *
+ * <p>
+ * Scripts are named {@code V<version>__<description>.sql} and each one is
+ * applied in its own transaction together with its {@code schema_migrations}
+ * record. That transaction first takes a transaction-scoped PostgreSQL advisory
+ * lock, so concurrently starting nodes apply each script once; the lock is
+ * released with the transaction's own connection, never left on a pooled one.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class SchemaMigrationRunner implements SmartInitializingSingleton {
+
+    private static final Pattern SCRIPT_NAME = Pattern.compile("V(\\d+)__(.+)\\.sql");
+    private static final long MIGRATION_LOCK_ID = 0x61737365746d6b74L;
+
+    private final SchemaMigrationRepository schemaMigrationRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        try {
+            for (Resource script : findScripts()) {
+                apply(script);
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not read the schema migration scripts", e);
+        }
+    }
+
+    private List<Resource> findScripts() throws IOException {
+        Resource[] resources = new PathMatchingResourcePatternResolver()
+                .getResources("classpath:db/migration/V*__*.sql");
+        return Arrays.stream(resources)
+                .filter(r -> r.getFilename() != null && SCRIPT_NAME.matcher(r.getFilename()).matches())
+                .sorted(Comparator.comparingInt(r -> version(r.getFilename())))
+                .toList();
+    }
+
+    private void apply(Resource script) throws IOException {
+        Matcher matcher = SCRIPT_NAME.matcher(script.getFilename());
+        matcher.matches();
+        int version = Integer.parseInt(matcher.group(1));
+        String description = matcher.group(2).replace('_', ' ');
+
+        String sql = script.getContentAsString(StandardCharsets.UTF_8);
+
+        transactionTemplate.executeWithoutResult(status -> {
+            // Held until this transaction ends; a node that waited on it sees the
+            // script as applied once it gets the lock
+            jdbcTemplate.execute("SELECT pg_advisory_xact_lock(" + MIGRATION_LOCK_ID + ")");
+            if (schemaMigrationRepository.existsById(version)) {
+                return;
+            }
+
+            log.info("Applying schema migration V{}: {}", version, description);
+            // The PostgreSQL driver executes multi-statement scripts (including
+            // dollar-quoted blocks) in one round trip
+            jdbcTemplate.execute(sql);
+            schemaMigrationRepository.save(SchemaMigration.builder()
+                    .version(version)
+                    .description(description)
+                    .script(script.getFilename())
+                    .build());
+        });
+    }
+
+    private static int version(String fileName) {
+        Matcher matcher = SCRIPT_NAME.matcher(fileName);
+        matcher.matches();
+        return Integer.parseInt(matcher.group(1));
+    }
+}
@@ -0,0 +1,105 @@
+package com.assetmarket.api.config;
+
+import com.assetmarket.api.service.ImageType;
+import com.assetmarket.api.service.ImageVariant;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.web.servlet.resource.AbstractResourceResolver;
+import org.springframework.web.servlet.resource.PathResourceResolver;
+import org.springframework.web.servlet.resource.ResourceHttpRequestHandler;
+import org.springframework.web.servlet.resource.ResourceResolverChain;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Serves {@code /uploads/**}.
+ * <p>
+ * Stored files never change under their name (content hashes, or random UUIDs for
+ * older uploads, and variants derived from them), so responses are cacheable for a
+ * year as {@code immutable} and the file name is used as a strong ETag; browsers and
+ * CDNs then answer repeat views themselves. Range requests are supported by the
+ * base handler.
+ * <p>
+ * The one exception is a variant URL answered with the original because the variant
+ * has not been generated yet: that response must be revalidated, and its ETag (the
+ * original's name) no longer matches once the variant exists.
+ */
+public class UploadResourceHandler extends ResourceHttpRequestHandler {
+
+    static final CacheControl IMMUTABLE = CacheControl.maxAge(Duration.ofDays(365)).cachePublic().immutable();
+
+    public UploadResourceHandler(String uploadDir) {
+        setLocationValues(List.of("file:" + Paths.get(uploadDir).toAbsolutePath() + "/"));
+        setResourceResolvers(List.of(new ImageVariantFallbackResolver(), new PathResourceResolver()));
+        setCacheControl(IMMUTABLE);
+        setUseLastModified(false);
+        setEtagGenerator(Resource::getFilename);
+    }
+
+    @Override
+    protected void setHeaders(HttpServletResponse response, Resource resource, MediaType mediaType)
+            throws IOException {
+        super.setHeaders(response, resource, mediaType);
+        if (resource instanceof OriginalForVariant) {
+            response.setHeader(HttpHeaders.CACHE_CONTROL, CacheControl.noCache().getHeaderValue());
+        }
+    }
+
+    /**
+     * An original image served in place of its missing variant.
+     */
+    static class OriginalForVariant extends FileSystemResource {
+        OriginalForVariant(Resource original) throws IOException {
+            super(original.getFile());
+        }
+    }
+
+    /**
+     * Serves the original image for variant URLs whose variant has not been generated
+     * (yet), e.g. while it is queued or for images stored before variants existed.
+     */
+    static class ImageVariantFallbackResolver extends AbstractResourceResolver {
+
+        private static final List<String> ORIGINAL_EXTENSIONS = List.of(
+                ImageType.JPEG.getExtension(), "jpeg", ImageType.PNG.getExtension(),
+                ImageType.GIF.getExtension(), ImageType.WEBP.getExtension());
+
+        @Override
+        protected Resource resolveResourceInternal(HttpServletRequest request, String requestPath,
+                List<? extends Resource> locations, ResourceResolverChain chain) {
+            Resource resource = chain.resolveResource(request, requestPath, locations);
+            if (resource != null) {
+                return resource;
+            }
+            String originalBase = ImageVariant.originalBaseName(requestPath);
+            if (originalBase == null) {
+                return null;
+            }
+            for (String extension : ORIGINAL_EXTENSIONS) {
+                Resource original = chain.resolveResource(request, originalBase + "." + extension, locations);
+                if (original != null) {
+                    try {
+                        return new OriginalForVariant(original);
+                    } catch (IOException e) {
+                        return original;
+                    }
+                }
+            }
+            return null;
+        }
+
+        @Override
+        protected String resolveUrlPathInternal(String resourceUrlPath, List<? extends Resource> locations,
+                ResourceResolverChain chain) {
+            return chain.resolveUrlPath(resourceUrlPath, locations);
+        }
+    }
+}
@@ -7,7 +7,10 @@ import com.assetmarket.api.dto.UserResponseDTO;
 import com.assetmarket.api.entity.Role;
 import com.assetmarket.api.entity.User;
 import com.assetmarket.api.repository.UserRepository;
+import com.assetmarket.api.security.AuthenticatedUser;
 import com.assetmarket.api.security.JwtUtils;
+import com.assetmarket.api.security.TokenRevocationStore;
+import com.assetmarket.api.security.UserPrincipalCache;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
@@ -41,6 +44,12 @@ public class AuthController {
     @Autowired
     JwtUtils jwtUtils;
 
+    @Autowired
+    TokenRevocationStore tokenRevocationStore;
+
+    @Autowired
+    UserPrincipalCache userPrincipalCache;
+
     @PostMapping("/login")
     public ResponseEntity<?> authenticateUser(@Valid @RequestBody LoginRequest loginRequest,
             @RequestHeader(value = "X-Tenant-ID", required = true) String tenantIdHeader) {
@@ -57,8 +66,7 @@ public class AuthController {
             SecurityContextHolder.getContext().setAuthentication(authentication);
             String jwt = jwtUtils.generateJwtToken(authentication);
 
-            org.springframework.security.core.userdetails.User userDetails = (org.springframework.security.core.userdetails.User) authentication
-                    .getPrincipal();
+            AuthenticatedUser userDetails = (AuthenticatedUser) authentication.getPrincipal();
 
             User user = userRepository.findByUsernameAndTenantId(userDetails.getUsername(),
                     com.assetmarket.api.security.TenantContext.getCurrentTenant()).get();
@@ -78,6 +86,16 @@ public class AuthController {
         }
     }
 
+    @PostMapping("/logout")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<Void> logout() {
+        // Tokens are stateless, so logging out revokes every token issued to the user so far
+        if (SecurityContextHolder.getContext().getAuthentication().getPrincipal() instanceof AuthenticatedUser user) {
+            tokenRevocationStore.revokeAll(user.getId());
+        }
+        return ResponseEntity.noContent().build();
+    }
+
     @GetMapping("/me")
     @PreAuthorize("isAuthenticated()")
     public ResponseEntity<UserResponseDTO> getCurrentUser() {
@@ -141,6 +159,7 @@ public class AuthController {
 
         user.setRoles(roles);
         userRepository.save(user);
+        userPrincipalCache.evict(currentTenant, user.getUsername());
 
         return ResponseEntity.ok("User registered successfully!");
     }
@@ -4,6 +4,7 @@ import com.assetmarket.api.dto.CategoryDTO;
 import com.assetmarket.api.entity.Category;
 import com.assetmarket.api.repository.CategoryRepository;
 import com.assetmarket.api.security.TenantContext;
+import com.assetmarket.api.service.CategoryCache;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
@@ -24,6 +25,9 @@ public class CategoryController {
     @Autowired
     private CategoryRepository categoryRepository;
 
+    @Autowired
+    private CategoryCache categoryCache;
+
     @GetMapping
     @Operation(summary = "List all categories", description = "Returns a list of all categories for the current tenant")
     public ResponseEntity<List<CategoryDTO>> getAllCategories() {
@@ -98,6 +102,7 @@ public class CategoryController {
                 }).collect(Collectors.toList()) : null);
 
         Category updatedCategory = categoryRepository.save(category);
+        categoryCache.evict(updatedCategory);
         return ResponseEntity.ok(convertToDTO(updatedCategory));
     }
 
@@ -113,6 +118,7 @@ public class CategoryController {
         }
 
         categoryRepository.delete(category);
+        categoryCache.evict(category);
         return ResponseEntity.noContent().build();
     }
 
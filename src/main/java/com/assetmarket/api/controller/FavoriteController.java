@@ -1,6 +1,6 @@
 package com.assetmarket.api.controller;
 
-import com.assetmarket.api.dto.PropertyDTO;
+import com.assetmarket.api.dto.PropertySummaryDTO;
 import com.assetmarket.api.service.FavoriteService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -33,7 +33,7 @@ public class FavoriteController {
     @GetMapping
     @PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
     @Operation(summary = "List saved properties", description = "Get a paginated list of properties favorited by the current user")
-    public ResponseEntity<Page<PropertyDTO>> getSavedProperties(@PageableDefault(size = 20) Pageable pageable) {
+    public ResponseEntity<Page<PropertySummaryDTO>> getSavedProperties(@PageableDefault(size = 20) Pageable pageable) {
         return ResponseEntity.ok(favoriteService.getSavedProperties(pageable));
     }
 }
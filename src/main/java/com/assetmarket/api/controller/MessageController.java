@@ -1,7 +1,7 @@
 package com.assetmarket.api.controller;
 
 import com.assetmarket.api.dto.MessageDTO;
-import com.assetmarket.api.dto.PropertyDTO;
+import com.assetmarket.api.dto.PropertySummaryDTO;
 import com.assetmarket.api.service.MessageService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -35,7 +35,7 @@ public class MessageController {
     @GetMapping("/my-inquiries")
     @PreAuthorize("hasRole('USER')")
     @Operation(summary = "List my inquired properties", description = "Get properties I have contacted the merchant about")
-    public ResponseEntity<Page<PropertyDTO>> getMyInquiries(@PageableDefault(size = 20) Pageable pageable) {
+    public ResponseEntity<Page<PropertySummaryDTO>> getMyInquiries(@PageableDefault(size = 20) Pageable pageable) {
         return ResponseEntity.ok(messageService.getMyInquiredProperties(pageable));
     }
 
@@ -25,8 +25,8 @@ public class PropertyController {
     private com.assetmarket.api.service.FileUploadService fileUploadService;
 
     @GetMapping
-    @io.swagger.v3.oas.annotations.Operation(summary = "Search properties with filters and sorting", description = "Search properties by price range, location, category with sorting options")
-    public ResponseEntity<Page<PropertyDTO>> getAllProperties(
+    @io.swagger.v3.oas.annotations.Operation(summary = "Search properties with filters and sorting", description = "Search properties by price range, location, category with sorting options. With paging=cursor the response is a cursor page without total counts.")
+    public ResponseEntity<?> getAllProperties(
             @io.swagger.v3.oas.annotations.Parameter(description = "Category name to filter by") @RequestParam(required = false) String category,
             @io.swagger.v3.oas.annotations.Parameter(description = "Minimum price") @RequestParam(required = false) java.math.BigDecimal minPrice,
             @io.swagger.v3.oas.annotations.Parameter(description = "Maximum price") @RequestParam(required = false) java.math.BigDecimal maxPrice,
@@ -36,7 +36,9 @@ public class PropertyController {
             @RequestParam(defaultValue = "createdAt") String sortBy,
             @RequestParam(defaultValue = "DESC") String sortDir,
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "20") int size) {
+            @RequestParam(defaultValue = "20") int size,
+            @io.swagger.v3.oas.annotations.Parameter(description = "Pagination mode: 'offset' (page numbers and totals) or 'cursor' (keyset, no totals)") @RequestParam(defaultValue = "offset") String paging,
+            @io.swagger.v3.oas.annotations.Parameter(description = "Opaque cursor from a previous cursor page's nextCursor") @RequestParam(required = false) String cursor) {
 
         // Extract attributes (parameters starting with 'attr[')
         java.util.Map<String, String> attributes = new java.util.HashMap<>();
@@ -58,12 +60,18 @@ public class PropertyController {
                 ? org.springframework.data.domain.Sort.Direction.ASC
                 : org.springframework.data.domain.Sort.Direction.DESC;
 
+        // Keyset mode: seek past the cursor and skip the total count
+        if (paging.equalsIgnoreCase("cursor") || cursor != null) {
+            return ResponseEntity.ok(propertyService.scrollProperties(
+                    minPrice, maxPrice, location, category, status, attributes, sortBy, direction, cursor, size));
+        }
+
         org.springframework.data.domain.Sort sort = org.springframework.data.domain.Sort.by(direction, sortBy);
 
         Pageable pageable = PageRequest.of(page, size, sort);
 
         // Use search method if any filters are provided
-        Page<PropertyDTO> properties;
+        Page<com.assetmarket.api.dto.PropertySummaryDTO> properties;
         if (minPrice != null || maxPrice != null || location != null || status != null || !attributes.isEmpty()) {
             properties = propertyService.searchProperties(
                     minPrice, maxPrice, location, category, status, attributes, pageable);
@@ -116,22 +124,47 @@ public class PropertyController {
         return ResponseEntity.ok(response);
     }
 
-    @PostMapping("/{id}/images")
-    @io.swagger.v3.oas.annotations.Operation(summary = "Upload property image", description = "Upload a file and add its URL to the property's image set")
-    public ResponseEntity<PropertyDTO> uploadImage(
-            @PathVariable Long id,
-            @RequestParam("file") org.springframework.web.multipart.MultipartFile file) {
+    @PostMapping("/uploads/presign")
+    @PreAuthorize("hasRole('ADMIN')")
+    @io.swagger.v3.oas.annotations.Operation(summary = "Prepare a direct image upload", description = "Get a presigned URL to upload an image straight to storage, bypassing the API. Requires S3 storage (501 otherwise)")
+    public ResponseEntity<com.assetmarket.api.dto.DirectUploadDTO> presignUpload(
+            @Valid @RequestBody com.assetmarket.api.dto.DirectUploadRequest request) {
 
-        PropertyDTO property = propertyService.getPropertyById(id);
         String tenantId = TenantContext.getCurrentTenant();
+        return fileUploadService.prepareDirectUpload(tenantId, request.getContentType(), request.getSize(),
+                request.getSha256())
+                .map(upload -> com.assetmarket.api.dto.DirectUploadDTO.builder()
+                        .key(upload.key())
+                        .url(upload.url())
+                        .uploadUrl(upload.upload() != null ? upload.upload().url() : null)
+                        .method(upload.upload() != null ? upload.upload().method() : null)
+                        .headers(upload.upload() != null ? upload.upload().headers() : null)
+                        .expiresAt(upload.upload() != null ? upload.upload().expiresAt() : null)
+                        .build())
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.status(HttpStatus.NOT_IMPLEMENTED).build());
+    }
 
-        String imageUrl = fileUploadService.storeFile(file, tenantId);
+    @PostMapping("/uploads/complete")
+    @PreAuthorize("hasRole('ADMIN')")
+    @io.swagger.v3.oas.annotations.Operation(summary = "Complete a direct image upload", description = "Verify an image uploaded with a presigned URL and get its URL")
+    public ResponseEntity<java.util.Map<String, String>> completeUpload(
+            @RequestBody java.util.Map<String, String> request) {
 
-        if (property.getImageUrls() == null) {
-            property.setImageUrls(new java.util.ArrayList<>());
-        }
-        property.getImageUrls().add(imageUrl);
+        String tenantId = TenantContext.getCurrentTenant();
+        String imageUrl = fileUploadService.completeDirectUpload(tenantId, request.get("key"));
+        return ResponseEntity.ok(java.util.Map.of("url", imageUrl));
+    }
 
-        return ResponseEntity.ok(propertyService.updateProperty(id, property));
+    @PostMapping("/{id}/images")
+    @PreAuthorize("hasRole('ADMIN')")
+    @io.swagger.v3.oas.annotations.Operation(summary = "Upload property images", description = "Upload up to 10 files (repeat the file part) and append their URLs to the property's images")
+    public ResponseEntity<PropertyDTO> uploadImage(
+            @PathVariable Long id,
+            @RequestParam("file") java.util.List<org.springframework.web.multipart.MultipartFile> files) {
+
+        String tenantId = TenantContext.getCurrentTenant();
+        java.util.List<String> imageUrls = fileUploadService.storeFiles(files, tenantId);
+        return ResponseEntity.ok(propertyService.addImages(id, imageUrls));
     }
 }
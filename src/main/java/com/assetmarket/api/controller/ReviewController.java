@@ -33,6 +33,13 @@ public class ReviewController {
         return ResponseEntity.ok(reviewService.createReview(propertyId, rating, comment));
     }
 
+    @PostMapping("/summaries/rebuild")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Rebuild rating summaries", description = "Recomputes the stored rating summary of every property in the tenant from its reviews")
+    public ResponseEntity<Map<String, Integer>> rebuildRatingSummaries() {
+        return ResponseEntity.ok(Map.of("updatedProperties", reviewService.rebuildRatingSummaries()));
+    }
+
     @GetMapping("/property/{propertyId}")
     @Operation(summary = "Get property reviews", description = "List all reviews for a specific property")
     public ResponseEntity<Page<ReviewDTO>> getReviewsForProperty(
@@ -1,8 +1,10 @@
 package com.assetmarket.api.controller;
 
 import com.assetmarket.api.service.TelegramService;
+import com.assetmarket.api.service.TelegramUpdateQueue;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -15,14 +17,18 @@ import java.util.Map;
 public class TelegramBotController {
 
     private final TelegramService telegramService;
+    private final TelegramUpdateQueue telegramUpdateQueue;
 
+    /**
+     * Acknowledges the update once it is queued; processing happens asynchronously.
+     * Answers 503 while the queue is full so Telegram retries later.
+     */
     @PostMapping("/webhook")
     public ResponseEntity<Void> handleUpdate(@RequestBody Map<String, Object> update) {
-        log.info("Received Telegram update: {}", update);
-        try {
-            telegramService.handleUpdate(update);
-        } catch (Exception e) {
-            log.error("Error processing Telegram update", e);
+        log.debug("Received Telegram update {}", update.get("update_id"));
+        if (!telegramUpdateQueue.submit(update)) {
+            log.warn("Telegram update queue full, rejecting update {}", update.get("update_id"));
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
         }
         return ResponseEntity.ok().build();
     }
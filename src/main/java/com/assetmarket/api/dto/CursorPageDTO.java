@@ -0,0 +1,24 @@
+package com.assetmarket.api.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CursorPageDTO<T> {
+    private List<T> content;
+
+    private int size;
+
+    @Schema(description = "Opaque cursor to pass back as `cursor` to fetch the next page; null on the last page")
+    private String nextCursor;
+
+    private boolean hasNext;
+}
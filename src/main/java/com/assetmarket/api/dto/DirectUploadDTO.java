@@ -0,0 +1,34 @@
+package com.assetmarket.api.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DirectUploadDTO {
+    @Schema(description = "Storage key to pass to the complete call")
+    private String key;
+
+    @Schema(description = "URL the image will be served from")
+    private String url;
+
+    @Schema(description = "Presigned URL to send the file to; absent if the image is stored already")
+    private String uploadUrl;
+
+    @Schema(description = "HTTP method for uploadUrl", example = "PUT")
+    private String method;
+
+    @Schema(description = "Headers that must be sent with the upload exactly as given")
+    private Map<String, List<String>> headers;
+
+    private Instant expiresAt;
+}
@@ -0,0 +1,21 @@
+package com.assetmarket.api.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Positive;
+import lombok.Data;
+
+@Data
+public class DirectUploadRequest {
+    @NotBlank(message = "Content type is required")
+    @Schema(description = "MIME type of the image", example = "image/jpeg")
+    private String contentType;
+
+    @Positive(message = "Size must be positive")
+    @Schema(description = "Exact size of the file in bytes", example = "245760")
+    private long size;
+
+    @NotBlank(message = "SHA-256 is required")
+    @Schema(description = "Hex SHA-256 of the file; storage rejects any other content")
+    private String sha256;
+}
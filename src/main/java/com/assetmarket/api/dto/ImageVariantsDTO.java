@@ -0,0 +1,22 @@
+package com.assetmarket.api.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImageVariantsDTO {
+    @Schema(description = "Full-resolution image as uploaded")
+    private String original;
+
+    @Schema(description = "1024px wide JPEG for detail views; may be the original until it has been generated")
+    private String medium;
+
+    @Schema(description = "320px wide JPEG for listings; may be the original until it has been generated")
+    private String thumbnail;
+}
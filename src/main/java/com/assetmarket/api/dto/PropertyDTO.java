@@ -34,6 +34,9 @@ public class PropertyDTO {
 
     private java.util.List<String> imageUrls;
 
+    @Schema(description = "Web-sized variants of each image in imageUrls, in the same order. Variants still being generated are served as the original", accessMode = Schema.AccessMode.READ_ONLY)
+    private java.util.List<ImageVariantsDTO> images;
+
     @Schema(description = "Dynamic attributes based on the category's schema", example = "{\"bedrooms\": 3, \"hasGarage\": true}")
     private Map<String, Object> attributes;
 
@@ -0,0 +1,38 @@
+package com.assetmarket.api.dto;
+
+import com.assetmarket.api.entity.PropertyStatus;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Map;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Property card for list endpoints; GET /api/v1/properties/{id} returns the full property")
+public class PropertySummaryDTO {
+    private Long id;
+    private String title;
+    private BigDecimal price;
+    private String location;
+    private String categoryName;
+    private PropertyStatus status;
+
+    @Schema(description = "Variants of the first image, or null if the property has no images")
+    private ImageVariantsDTO coverImage;
+
+    @Schema(description = "Card specs only (bedrooms, bathrooms, sqft, floor) where set; the full property has all attributes")
+    private Map<String, Object> attributes;
+
+    private Double averageRating;
+    private Long reviewCount;
+
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+}
@@ -9,6 +9,7 @@ import java.util.List;
 import java.util.Map;
 
 @Entity
+@EntityListeners(CategoryChangeListener.class)
 @Table(name = "categories", uniqueConstraints = {
         @UniqueConstraint(columnNames = { "name", "tenant_id" })
 })
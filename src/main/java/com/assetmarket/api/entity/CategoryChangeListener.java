@@ -0,0 +1,28 @@
+package com.assetmarket.api.entity;
+
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+/**
+ * Entity listener that announces category writes as a {@link CategoryChangedEvent},
+ * whether they come from the API, the seeder or a repository call, so caches
+ * can evict without the entity depending on them.
+ */
+@Component
+public class CategoryChangeListener {
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void onChange(Category category) {
+        eventPublisher.publishEvent(new CategoryChangedEvent(category.getId(), category.getTenantId(),
+                category.getName()));
+    }
+}
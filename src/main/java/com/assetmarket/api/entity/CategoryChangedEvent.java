@@ -0,0 +1,8 @@
+package com.assetmarket.api.entity;
+
+/**
+ * Published by {@link CategoryChangeListener} whenever a category row is
+ * inserted, updated or deleted.
+ */
+public record CategoryChangedEvent(Long id, String tenantId, String name) {
+}
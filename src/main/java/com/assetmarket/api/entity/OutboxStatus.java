@@ -0,0 +1,8 @@
+package com.assetmarket.api.entity;
+
+public enum OutboxStatus {
+    PENDING,
+    PROCESSING,
+    SENT,
+    FAILED
+}
@@ -3,6 +3,7 @@ package com.assetmarket.api.entity;
 import jakarta.persistence.*;
 import lombok.*;
 import lombok.experimental.SuperBuilder;
+import org.hibernate.annotations.ColumnDefault;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 import org.hibernate.annotations.JdbcTypeCode;
@@ -42,9 +43,11 @@ public class Property extends TenantAware {
     @Builder.Default
     private PropertyStatus status = PropertyStatus.AVAILABLE;
 
-    @ElementCollection
-    @CollectionTable(name = "property_images", joinColumns = @JoinColumn(name = "property_id"))
-    @Column(name = "image_url")
+    // Stored in the row as a text[] so reading the images needs no extra query and
+    // adding one is a single-row UPDATE (see PropertyRepository.appendImageUrls)
+    @JdbcTypeCode(SqlTypes.ARRAY)
+    @Column(name = "image_urls", columnDefinition = "text[]", nullable = false)
+    @ColumnDefault("'{}'")
     @Builder.Default
     private java.util.List<String> imageUrls = new java.util.ArrayList<>();
 
@@ -62,4 +65,18 @@ public class Property extends TenantAware {
     @JdbcTypeCode(SqlTypes.JSON)
     @Column(columnDefinition = "jsonb")
     private Map<String, Object> attributes;
+
+    // Rating summary, maintained incrementally by ReviewService and rebuilt from
+    // the reviews table on demand
+    @Column(nullable = false)
+    @ColumnDefault("0")
+    @Builder.Default
+    private Long ratingSum = 0L;
+
+    @Column(nullable = false)
+    @ColumnDefault("0")
+    @Builder.Default
+    private Long reviewCount = 0L;
+
+    private Double averageRating;
 }
@@ -0,0 +1,34 @@
+package com.assetmarket.api.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * Records a versioned SQL migration from {@code db/migration} that has been
+ * applied. Mapped as an entity so it shares the lifecycle of the tables
+ * Hibernate manages: when those are recreated, migrations run again.
+ */
+@Entity
+@Table(name = "schema_migrations")
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SchemaMigration {
+    @Id
+    private Integer version;
+
+    @Column(nullable = false)
+    private String description;
+
+    @Column(nullable = false)
+    private String script;
+
+    @CreationTimestamp
+    @Column(updatable = false)
+    private LocalDateTime appliedAt;
+}
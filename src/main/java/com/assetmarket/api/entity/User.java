@@ -15,6 +15,7 @@ import java.util.HashSet;
 import java.util.Set;
 
 @Entity
+@EntityListeners(UserChangeListener.class)
 @Table(name = "users", uniqueConstraints = {
         @UniqueConstraint(columnNames = { "username", "tenant_id" }),
         @UniqueConstraint(columnNames = { "email", "tenant_id" })
@@ -0,0 +1,26 @@
+package com.assetmarket.api.entity;
+
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+/**
+ * Entity listener that announces user writes as a {@link UserChangedEvent}, so the
+ * principal cache can evict without the entity depending on the security layer.
+ */
+@Component
+public class UserChangeListener {
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void onChange(User user) {
+        eventPublisher.publishEvent(new UserChangedEvent(user.getTenantId(), user.getUsername()));
+    }
+}
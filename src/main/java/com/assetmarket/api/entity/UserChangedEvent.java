@@ -0,0 +1,8 @@
+package com.assetmarket.api.entity;
+
+/**
+ * Published by {@link UserChangeListener} whenever a user row is inserted,
+ * updated or deleted.
+ */
+public record UserChangedEvent(String tenantId, String username) {
+}
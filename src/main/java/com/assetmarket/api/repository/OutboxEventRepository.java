@@ -0,0 +1,51 @@
+package com.assetmarket.api.repository;
+
+import com.assetmarket.api.entity.OutboxEvent;
+import com.assetmarket.api.entity.OutboxStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+    // Row locks taken here are skipped by other nodes polling at the same time; the
+    // caller must lease the rows before its transaction ends
+    @Query(value = """
+            SELECT * FROM outbox_events
+            WHERE status IN ('PENDING', 'PROCESSING') AND available_at <= :now
+            ORDER BY available_at, id
+            LIMIT :limit
+            FOR UPDATE SKIP LOCKED
+            """, nativeQuery = true)
+    List<OutboxEvent> lockDueEvents(@Param("now") LocalDateTime now, @Param("limit") int limit);
+
+    // The outcome updates only apply to the claim they belong to: once a lease has run
+    // out and the event was claimed again, the late outcome updates nothing (returns 0)
+    @Transactional
+    @Modifying
+    @Query("UPDATE OutboxEvent e SET e.status = :status, e.processedAt = :now, e.lastError = :error, e.lockedBy = null "
+            + "WHERE e.id = :id AND e.lockedBy = :nodeId AND e.attempts = :attempts")
+    int markProcessed(@Param("id") Long id, @Param("nodeId") String nodeId, @Param("attempts") int attempts,
+            @Param("status") OutboxStatus status, @Param("now") LocalDateTime now, @Param("error") String error);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE OutboxEvent e SET e.status = com.assetmarket.api.entity.OutboxStatus.PENDING, "
+            + "e.availableAt = :availableAt, e.lastError = :error, e.lockedBy = null "
+            + "WHERE e.id = :id AND e.lockedBy = :nodeId AND e.attempts = :attempts")
+    int scheduleRetry(@Param("id") Long id, @Param("nodeId") String nodeId, @Param("attempts") int attempts,
+            @Param("availableAt") LocalDateTime availableAt, @Param("error") String error);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM OutboxEvent e WHERE e.status = com.assetmarket.api.entity.OutboxStatus.SENT "
+            + "AND e.processedAt < :before")
+    int deleteSentBefore(@Param("before") LocalDateTime before);
+}
@@ -1,42 +1,40 @@
 package com.assetmarket.api.repository;
 
 import com.assetmarket.api.entity.Property;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
-import java.math.BigDecimal;
+import java.time.LocalDateTime;
 
 @Repository
-public interface PropertyRepository extends JpaRepository<Property, Long> {
-        Page<Property> findByCategoryName(String name, Pageable pageable);
+public interface PropertyRepository extends JpaRepository<Property, Long>, PropertyRepositoryCustom {
+        // Folds a single new review into the denormalized rating summary
+        @Modifying(flushAutomatically = true, clearAutomatically = true)
+        @Query("UPDATE Property p SET p.ratingSum = p.ratingSum + :rating, p.reviewCount = p.reviewCount + 1, " +
+                        "p.averageRating = CAST(p.ratingSum + :rating AS double) / (p.reviewCount + 1) " +
+                        "WHERE p.id = :propertyId")
+        int addRatingToSummary(@Param("propertyId") Long propertyId, @Param("rating") long rating);
 
-        @Query(value = "SELECT * FROM properties p WHERE " +
-                        "(:minPrice IS NULL OR p.price >= :minPrice) AND " +
-                        "(:maxPrice IS NULL OR p.price <= :maxPrice) AND " +
-                        "(:location IS NULL OR p.location ILIKE CONCAT('%', :location, '%')) AND " +
-                        "(:categoryId IS NULL OR p.category_id = :categoryId) AND " +
-                        "(:status IS NULL OR p.status = :status) AND " +
-                        "(:attributesJson IS NULL OR p.attributes @> CAST(:attributesJson AS jsonb)) AND " +
-                        "p.tenant_id = :tenantId", countQuery = "SELECT count(*) FROM properties p WHERE " +
-                                        "(:minPrice IS NULL OR p.price >= :minPrice) AND " +
-                                        "(:maxPrice IS NULL OR p.price <= :maxPrice) AND " +
-                                        "(:location IS NULL OR p.location ILIKE CONCAT('%', :location, '%')) AND " +
-                                        "(:categoryId IS NULL OR p.category_id = :categoryId) AND " +
-                                        "(:status IS NULL OR p.status = :status) AND " +
-                                        "(:attributesJson IS NULL OR p.attributes @> CAST(:attributesJson AS jsonb)) AND "
-                                        +
-                                        "p.tenant_id = :tenantId", nativeQuery = true)
-        Page<Property> findWithFilters(
-                        @Param("minPrice") BigDecimal minPrice,
-                        @Param("maxPrice") BigDecimal maxPrice,
-                        @Param("location") String location,
-                        @Param("categoryId") Long categoryId,
-                        @Param("status") String status,
-                        @Param("attributesJson") String attributesJson,
-                        @Param("tenantId") String tenantId,
-                        Pageable pageable);
+        // Recomputes every rating summary of a tenant from the reviews table
+        @Modifying(flushAutomatically = true, clearAutomatically = true)
+        @Query(value = "UPDATE properties p SET rating_sum = COALESCE(agg.rating_sum, 0), " +
+                        "review_count = agg.review_count, average_rating = agg.average_rating " +
+                        "FROM (SELECT t.id, SUM(r.rating) AS rating_sum, COUNT(r.id) AS review_count, " +
+                        "AVG(r.rating) AS average_rating FROM properties t " +
+                        "LEFT JOIN reviews r ON r.property_id = t.id " +
+                        "WHERE t.tenant_id = :tenantId GROUP BY t.id) agg " +
+                        "WHERE p.id = agg.id", nativeQuery = true)
+        int rebuildRatingSummaries(@Param("tenantId") String tenantId);
+
+        // Appends image URLs to the array in place, without reading or rewriting the
+        // existing ones; updates nothing if the property is not in the tenant.
+        // updatedAt comes from the JVM clock, as @UpdateTimestamp does for other writes
+        @Modifying(flushAutomatically = true, clearAutomatically = true)
+        @Query(value = "UPDATE properties SET image_urls = image_urls || CAST(:imageUrls AS text[]), " +
+                        "updated_at = :updatedAt WHERE id = :propertyId AND tenant_id = :tenantId", nativeQuery = true)
+        int appendImageUrls(@Param("propertyId") Long propertyId, @Param("tenantId") String tenantId,
+                        @Param("imageUrls") String[] imageUrls, @Param("updatedAt") LocalDateTime updatedAt);
 }
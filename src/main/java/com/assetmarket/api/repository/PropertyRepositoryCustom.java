@@ -0,0 +1,35 @@
+package com.assetmarket.api.repository;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import java.util.List;
+
+public interface PropertyRepositoryCustom {
+
+    /**
+     * Offset search. The SQL only contains predicates for the filters present in
+     * {@code criteria}, so each filter combination gets its own statement and
+     * plan. Sort properties are translated through {@link PropertySortColumn}.
+     * Rows come back as {@link PropertySummary} projections.
+     */
+    Page<PropertySummary> search(PropertySearchCriteria criteria, Pageable pageable);
+
+    /**
+     * Keyset (seek) search. Rows are ordered by {@code sortColumn} then
+     * {@code id}, and only rows strictly after ({@code afterValue},
+     * {@code afterId}) in that order are returned. No count query is issued.
+     *
+     * @param afterValue sort value of the last row already seen, or null for the
+     *                   first page
+     * @param limit      maximum number of rows to return
+     */
+    List<PropertySummary> searchAfter(
+            PropertySearchCriteria criteria,
+            PropertySortColumn sortColumn,
+            Sort.Direction direction,
+            String afterValue,
+            Long afterId,
+            int limit);
+}
@@ -0,0 +1,192 @@
+package com.assetmarket.api.repository;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TupleElement;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.projection.ProjectionFactory;
+import org.springframework.data.projection.SpelAwareProxyProjectionFactory;
+import org.springframework.data.support.PageableExecutionUtils;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+public class PropertyRepositoryImpl implements PropertyRepositoryCustom {
+
+    private static final ObjectMapper JSON = new ObjectMapper();
+
+    // Only the attributes list cards show are read out of the jsonb column
+    private static final String CARD_ATTRIBUTES_SQL = PropertySummary.CARD_ATTRIBUTES.stream()
+            .map(name -> "'" + name + "', p.attributes -> '" + name + "'")
+            .collect(Collectors.joining(", ", "CAST(jsonb_strip_nulls(jsonb_build_object(", ")) AS text)"));
+
+    // Exactly the columns of PropertySummary; the cover image is the first element
+    // of the image array, so the rest of the array is never sent
+    private static final String SELECT_SUMMARY = "SELECT p.id AS id, p.title AS title, p.price AS price, "
+            + "p.location AS location, p.status AS status, c.name AS \"categoryName\", "
+            + "p.image_urls[1] AS \"coverImage\", " + CARD_ATTRIBUTES_SQL + " AS attributes, "
+            + "p.average_rating AS \"averageRating\", p.review_count AS \"reviewCount\", "
+            + "p.created_at AS \"createdAt\", p.updated_at AS \"updatedAt\" "
+            + "FROM properties p LEFT JOIN categories c ON c.id = p.category_id WHERE ";
+
+    private final ProjectionFactory projectionFactory = new SpelAwareProxyProjectionFactory();
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Page<PropertySummary> search(PropertySearchCriteria criteria, Pageable pageable) {
+        Map<String, Object> parameters = new LinkedHashMap<>();
+        String where = buildWhereClause(criteria, parameters);
+
+        StringBuilder sql = new StringBuilder(SELECT_SUMMARY).append(where);
+        appendOrderBy(sql, pageable.getSort());
+
+        Query query = entityManager.createNativeQuery(sql.toString(), Tuple.class);
+        parameters.forEach(query::setParameter);
+        if (pageable.isPaged()) {
+            query.setFirstResult((int) pageable.getOffset());
+            query.setMaxResults(pageable.getPageSize());
+        }
+        List<PropertySummary> content = toSummaries(query);
+
+        // The count is skipped when the page itself shows the total
+        return PageableExecutionUtils.getPage(content, pageable, () -> {
+            Query countQuery = entityManager.createNativeQuery("SELECT count(*) FROM properties p WHERE " + where);
+            parameters.forEach(countQuery::setParameter);
+            return ((Number) countQuery.getSingleResult()).longValue();
+        });
+    }
+
+    @Override
+    public List<PropertySummary> searchAfter(
+            PropertySearchCriteria criteria,
+            PropertySortColumn sortColumn,
+            Sort.Direction direction,
+            String afterValue,
+            Long afterId,
+            int limit) {
+
+        Map<String, Object> parameters = new LinkedHashMap<>();
+        StringBuilder sql = new StringBuilder(SELECT_SUMMARY)
+                .append(buildWhereClause(criteria, parameters));
+
+        String column = "p." + sortColumn.getColumn();
+        if (afterId != null) {
+            // Row-value comparison lets PostgreSQL seek straight past the last row seen
+            sql.append(" AND (").append(column).append(", p.id) ")
+                    .append(direction.isAscending() ? ">" : "<")
+                    .append(" (CAST(:afterValue AS ").append(sortColumn.getSqlType()).append("), :afterId)");
+            parameters.put("afterValue", afterValue);
+            parameters.put("afterId", afterId);
+        }
+
+        String order = direction.isAscending() ? "ASC" : "DESC";
+        sql.append(" ORDER BY ").append(column).append(' ').append(order)
+                .append(", p.id ").append(order);
+
+        Query query = entityManager.createNativeQuery(sql.toString(), Tuple.class);
+        parameters.forEach(query::setParameter);
+        query.setMaxResults(limit);
+        return toSummaries(query);
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<PropertySummary> toSummaries(Query query) {
+        return ((List<Tuple>) query.getResultList()).stream()
+                .map(tuple -> {
+                    Map<String, Object> row = new HashMap<>();
+                    for (TupleElement<?> element : tuple.getElements()) {
+                        row.put(element.getAlias(), tuple.get(element));
+                    }
+                    row.put("attributes", parseAttributes((String) row.get("attributes")));
+                    return projectionFactory.createProjection(PropertySummary.class, row);
+                })
+                .toList();
+    }
+
+    private static Map<String, Object> parseAttributes(String json) {
+        try {
+            return JSON.readValue(json, new TypeReference<Map<String, Object>>() {
+            });
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Unreadable card attributes: " + json, e);
+        }
+    }
+
+    /**
+     * Emits a predicate only for each filter the caller supplied. Unlike
+     * {@code :param IS NULL OR ...} catch-alls, this keeps every predicate
+     * sargable and lets PostgreSQL plan (and cache) each filter shape separately.
+     */
+    private String buildWhereClause(PropertySearchCriteria criteria, Map<String, Object> parameters) {
+        StringBuilder where = new StringBuilder("p.tenant_id = :tenantId");
+        parameters.put("tenantId", criteria.getTenantId());
+
+        if (criteria.getCategoryId() != null) {
+            where.append(" AND p.category_id = :categoryId");
+            parameters.put("categoryId", criteria.getCategoryId());
+        }
+        if (criteria.getStatus() != null) {
+            where.append(" AND p.status = :status");
+            parameters.put("status", criteria.getStatus());
+        }
+        if (criteria.getMinPrice() != null) {
+            where.append(" AND p.price >= :minPrice");
+            parameters.put("minPrice", criteria.getMinPrice());
+        }
+        if (criteria.getMaxPrice() != null) {
+            where.append(" AND p.price <= :maxPrice");
+            parameters.put("maxPrice", criteria.getMaxPrice());
+        }
+        if (criteria.getLocation() != null && !criteria.getLocation().isEmpty()) {
+            where.append(" AND p.location ILIKE :location");
+            parameters.put("location", "%" + escapeLike(criteria.getLocation()) + "%");
+        }
+        if (criteria.getAttributesJson() != null) {
+            where.append(" AND p.attributes @> CAST(:attributesJson AS jsonb)");
+            parameters.put("attributesJson", criteria.getAttributesJson());
+        }
+        if (criteria.getFavoritedBy() != null) {
+            where.append(" AND p.id IN (SELECT f.property_id FROM favorites f WHERE f.user_id = :favoritedBy)");
+            parameters.put("favoritedBy", criteria.getFavoritedBy());
+        }
+        if (criteria.getInquiredBy() != null) {
+            where.append(" AND p.id IN (SELECT m.property_id FROM messages m WHERE m.sender_id = :inquiredBy)");
+            parameters.put("inquiredBy", criteria.getInquiredBy());
+        }
+
+        return where.toString();
+    }
+
+    private void appendOrderBy(StringBuilder sql, Sort sort) {
+        if (sort.isUnsorted()) {
+            return;
+        }
+
+        String separator = " ORDER BY ";
+        for (Sort.Order order : sort) {
+            PropertySortColumn column = PropertySortColumn.fromProperty(order.getProperty())
+                    .orElseThrow(() -> new IllegalArgumentException("Cannot sort by: " + order.getProperty()));
+            sql.append(separator).append("p.").append(column.getColumn())
+                    .append(order.isAscending() ? " ASC" : " DESC");
+            separator = ", ";
+        }
+        // Stable order across pages when the sort key has duplicates
+        sql.append(", p.id");
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
@@ -0,0 +1,25 @@
+package com.assetmarket.api.repository;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.math.BigDecimal;
+
+/**
+ * Filters for a property search. Only the non-null filters end up as predicates
+ * in the generated SQL; {@code tenantId} is always applied.
+ */
+@Getter
+@Builder
+public class PropertySearchCriteria {
+    private final String tenantId;
+    private final BigDecimal minPrice;
+    private final BigDecimal maxPrice;
+    private final String location;
+    private final Long categoryId;
+    private final String status;
+    private final String attributesJson;
+    // Restrict to properties this user has favorited or sent messages about
+    private final Long favoritedBy;
+    private final Long inquiredBy;
+}
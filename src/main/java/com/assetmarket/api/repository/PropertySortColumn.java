@@ -0,0 +1,57 @@
+package com.assetmarket.api.repository;
+
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * Columns property searches can be ordered by, mapping the API sort property to
+ * its column and the SQL type used to bind a cursor value back into a keyset
+ * seek predicate.
+ */
+public enum PropertySortColumn {
+    CREATED_AT("createdAt", "created_at", "timestamp", PropertySummary::getCreatedAt),
+    UPDATED_AT("updatedAt", "updated_at", "timestamp", PropertySummary::getUpdatedAt),
+    PRICE("price", "price", "numeric", PropertySummary::getPrice),
+    TITLE("title", "title", "text", PropertySummary::getTitle),
+    LOCATION("location", "location", "text", PropertySummary::getLocation),
+    ID("id", "id", "bigint", PropertySummary::getId);
+
+    private final String property;
+    private final String column;
+    private final String sqlType;
+    private final Function<PropertySummary, Object> extractor;
+
+    PropertySortColumn(String property, String column, String sqlType, Function<PropertySummary, Object> extractor) {
+        this.property = property;
+        this.column = column;
+        this.sqlType = sqlType;
+        this.extractor = extractor;
+    }
+
+    public String getProperty() {
+        return property;
+    }
+
+    public String getColumn() {
+        return column;
+    }
+
+    public String getSqlType() {
+        return sqlType;
+    }
+
+    public String valueOf(PropertySummary property) {
+        Object value = extractor.apply(property);
+        if (value == null) {
+            return null;
+        }
+        return value instanceof java.math.BigDecimal decimal ? decimal.toPlainString() : value.toString();
+    }
+
+    public static Optional<PropertySortColumn> fromProperty(String property) {
+        return Arrays.stream(values())
+                .filter(c -> c.property.equals(property))
+                .findFirst();
+    }
+}
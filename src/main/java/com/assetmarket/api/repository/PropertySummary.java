@@ -0,0 +1,45 @@
+package com.assetmarket.api.repository;
+
+import com.assetmarket.api.entity.PropertyStatus;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Card fields of a property, as returned by list queries. Read straight from the
+ * row in the same statement, so {@code description}, the rest of the attributes
+ * and the image array are never loaded and no entity is hydrated or snapshotted.
+ */
+public interface PropertySummary {
+
+    /** The attributes property cards display as quick specs. */
+    List<String> CARD_ATTRIBUTES = List.of("bedrooms", "bathrooms", "sqft", "floor");
+
+    Long getId();
+
+    String getTitle();
+
+    BigDecimal getPrice();
+
+    String getLocation();
+
+    PropertyStatus getStatus();
+
+    String getCategoryName();
+
+    /** The first image URL, or null if the property has none. */
+    String getCoverImage();
+
+    /** Those of {@link #CARD_ATTRIBUTES} the property has; never null. */
+    Map<String, Object> getAttributes();
+
+    Double getAverageRating();
+
+    Long getReviewCount();
+
+    LocalDateTime getCreatedAt();
+
+    LocalDateTime getUpdatedAt();
+}
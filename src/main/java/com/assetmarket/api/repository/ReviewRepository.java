@@ -1,21 +1,22 @@
 package com.assetmarket.api.repository;
 
-import com.assetmarket.api.entity.Property;
+import com.assetmarket.api.dto.ReviewDTO;
 import com.assetmarket.api.entity.Review;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 @Repository
 public interface ReviewRepository extends JpaRepository<Review, Long> {
-    Page<Review> findByPropertyAndTenantId(Property property, String tenantId, Pageable pageable);
 
-    @Query("SELECT AVG(r.rating) FROM Review r WHERE r.property.id = :propertyId")
-    Double getAverageRatingForProperty(Long propertyId);
-
-    Long countByPropertyId(Long propertyId);
+    // Selects straight into the DTO so the reviewers are not loaded one by one
+    @Query(value = "SELECT new com.assetmarket.api.dto.ReviewDTO(r.id, r.property.id, u.username, r.rating, r.comment, r.createdAt) FROM Review r JOIN r.user u WHERE r.property.id = :propertyId AND r.tenantId = :tenantId",
+            countQuery = "SELECT COUNT(r) FROM Review r WHERE r.property.id = :propertyId AND r.tenantId = :tenantId")
+    Page<ReviewDTO> findDTOsByPropertyIdAndTenantId(@Param("propertyId") Long propertyId,
+            @Param("tenantId") String tenantId, Pageable pageable);
 
     boolean existsByPropertyIdAndUserId(Long propertyId, Long userId);
 }
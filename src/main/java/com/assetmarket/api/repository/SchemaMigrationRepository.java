@@ -0,0 +1,9 @@
+package com.assetmarket.api.repository;
+
+import com.assetmarket.api.entity.SchemaMigration;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface SchemaMigrationRepository extends JpaRepository<SchemaMigration, Integer> {
+}
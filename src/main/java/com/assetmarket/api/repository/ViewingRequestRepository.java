@@ -1,15 +1,27 @@
 package com.assetmarket.api.repository;
 
-import com.assetmarket.api.entity.User;
+import com.assetmarket.api.dto.ViewingRequestDTO;
 import com.assetmarket.api.entity.ViewingRequest;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 @Repository
 public interface ViewingRequestRepository extends JpaRepository<ViewingRequest, Long> {
-    Page<ViewingRequest> findByUserAndTenantId(User user, String tenantId, Pageable pageable);
 
-    Page<ViewingRequest> findByTenantId(String tenantId, Pageable pageable);
+    // Listings select straight into the DTO: one query per page instead of one
+    // per row for the property and user
+    @Query(value = "SELECT new com.assetmarket.api.dto.ViewingRequestDTO(v.id, p.id, p.title, u.id, u.username, v.requestedAt, v.status, v.notes, v.createdAt) FROM ViewingRequest v JOIN v.property p JOIN v.user u WHERE u.id = :userId AND v.tenantId = :tenantId",
+            countQuery = "SELECT COUNT(v) FROM ViewingRequest v WHERE v.user.id = :userId AND v.tenantId = :tenantId")
+    Page<ViewingRequestDTO> findDTOsByUserIdAndTenantId(@Param("userId") Long userId,
+            @Param("tenantId") String tenantId, Pageable pageable);
+
+    @Query(value = "SELECT new com.assetmarket.api.dto.ViewingRequestDTO(v.id, p.id, p.title, u.id, u.username, v.requestedAt, v.status, v.notes, v.createdAt) FROM ViewingRequest v JOIN v.property p JOIN v.user u WHERE v.tenantId = :tenantId",
+            countQuery = "SELECT COUNT(v) FROM ViewingRequest v WHERE v.tenantId = :tenantId")
+    Page<ViewingRequestDTO> findDTOsByTenantId(@Param("tenantId") String tenantId, Pageable pageable);
+
+    boolean existsByPropertyIdAndUserId(Long propertyId, Long userId);
 }
@@ -0,0 +1,71 @@
+package com.assetmarket.api.security;
+
+import com.assetmarket.api.entity.Role;
+import com.assetmarket.api.entity.User;
+import lombok.Getter;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Security principal carrying everything a request needs about its user, so it can
+ * be rebuilt from a verified JWT without loading the user row. The password is only
+ * present when the principal comes from {@link UserDetailsServiceImpl} during login.
+ */
+@Getter
+public class AuthenticatedUser implements UserDetails {
+
+    private final Long id;
+    private final String username;
+    private final String password;
+    private final String tenantId;
+    private final List<GrantedAuthority> authorities;
+
+    public AuthenticatedUser(Long id, String username, String password, String tenantId,
+            Collection<String> roles) {
+        this.id = id;
+        this.username = username;
+        this.password = password;
+        this.tenantId = tenantId;
+        this.authorities = roles.stream()
+                .<GrantedAuthority>map(SimpleGrantedAuthority::new)
+                .toList();
+    }
+
+    public static AuthenticatedUser from(User user) {
+        return new AuthenticatedUser(user.getId(), user.getUsername(), user.getPassword(), user.getTenantId(),
+                user.getRoles().stream().map(Role::name).toList());
+    }
+
+    public List<String> getRoles() {
+        return authorities.stream().map(GrantedAuthority::getAuthority).toList();
+    }
+
+    @Override
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return authorities;
+    }
+
+    @Override
+    public boolean isAccountNonExpired() {
+        return true;
+    }
+
+    @Override
+    public boolean isAccountNonLocked() {
+        return true;
+    }
+
+    @Override
+    public boolean isCredentialsNonExpired() {
+        return true;
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return true;
+    }
+}
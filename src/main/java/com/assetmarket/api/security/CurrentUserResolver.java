@@ -0,0 +1,77 @@
+package com.assetmarket.api.security;
+
+import com.assetmarket.api.entity.Role;
+import com.assetmarket.api.entity.User;
+import com.assetmarket.api.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.annotation.RequestScope;
+
+/**
+ * Resolves the authenticated user once per request. The id and roles come straight
+ * from the JWT principal; the {@link User} row is only loaded when a caller needs
+ * its fields, and then at most once.
+ */
+@Component
+@RequestScope
+@RequiredArgsConstructor
+public class CurrentUserResolver {
+
+    private final UserRepository userRepository;
+
+    private User user;
+
+    public Long getUserId() {
+        AuthenticatedUser principal = authenticatedUser();
+        return principal != null ? principal.getId() : getUser().getId();
+    }
+
+    public boolean hasRole(Role role) {
+        AuthenticatedUser principal = authenticatedUser();
+        return principal != null
+                ? principal.getRoles().contains(role.name())
+                : getUser().getRoles().contains(role);
+    }
+
+    /**
+     * The full user entity, for callers that read its fields.
+     */
+    public User getUser() {
+        if (user == null) {
+            AuthenticatedUser principal = authenticatedUser();
+            user = principal != null
+                    ? userRepository.findById(principal.getId())
+                            .orElseThrow(() -> new IllegalStateException("User context not found"))
+                    : userRepository.findByUsernameAndTenantId(username(), TenantContext.getCurrentTenant())
+                            .orElseThrow(() -> new IllegalStateException("User context not found"));
+        }
+        return user;
+    }
+
+    /**
+     * A user usable as an association target (e.g. a message sender) without
+     * loading the row, when the id is already known from the token.
+     */
+    public User getReference() {
+        AuthenticatedUser principal = authenticatedUser();
+        if (user == null && principal != null) {
+            return userRepository.getReferenceById(principal.getId());
+        }
+        return getUser();
+    }
+
+    private AuthenticatedUser authenticatedUser() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null && authentication.getPrincipal() instanceof AuthenticatedUser principal
+                ? principal
+                : null;
+    }
+
+    private String username() {
+        Object principal = SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+        return principal instanceof UserDetails userDetails ? userDetails.getUsername() : principal.toString();
+    }
+}
@@ -3,63 +3,111 @@ package com.assetmarket.api.security;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.security.SecurityException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.Authentication;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
+import java.time.Instant;
 import java.util.Date;
+import java.util.List;
+import java.util.Optional;
 
 @Component
 public class JwtUtils {
     private static final Logger logger = LoggerFactory.getLogger(JwtUtils.class);
 
-    @Value("${assetmarket.app.jwtSecret:======================YourSecretKeyHere======================}")
-    private String jwtSecret;
+    private static final String CLAIM_USER_ID = "userId";
+    private static final String CLAIM_TENANT_ID = "tenantId";
+    private static final String CLAIM_ROLES = "roles";
+    // iat has second precision, too coarse to tell a token from a revocation in the same second
+    private static final String CLAIM_ISSUED_AT_MS = "iatMs";
 
-    @Value("${assetmarket.app.jwtExpirationMs:86400000}")
-    private int jwtExpirationMs;
+    private final int jwtExpirationMs;
+
+    // Both are immutable and thread-safe, so they are built once from the secret
+    private final SecretKey key;
+    private final JwtParser parser;
+
+    public JwtUtils(
+            @Value("${assetmarket.app.jwtSecret:======================YourSecretKeyHere======================}") String jwtSecret,
+            @Value("${assetmarket.app.jwtExpirationMs:86400000}") int jwtExpirationMs) {
+        this.jwtExpirationMs = jwtExpirationMs;
+        this.key = Keys.hmacShaKeyFor(Decoders.BASE64.decode(jwtSecret));
+        this.parser = Jwts.parser().verifyWith(key).build();
+    }
 
     public String generateJwtToken(Authentication authentication) {
-        UserDetails userPrincipal = (UserDetails) authentication.getPrincipal();
-        return generateTokenFromUsername(userPrincipal.getUsername());
+        return generateToken((AuthenticatedUser) authentication.getPrincipal());
     }
 
-    public String generateTokenFromUsername(String username) {
+    /**
+     * Issues a token whose claims carry the user's id, tenant and roles, so requests
+     * can be authenticated from the token alone.
+     */
+    public String generateToken(AuthenticatedUser user) {
+        Date now = new Date();
         return Jwts.builder()
-                .subject(username)
-                .issuedAt(new Date())
-                .expiration(new Date((new Date()).getTime() + jwtExpirationMs))
-                .signWith(key(), Jwts.SIG.HS256)
+                .subject(user.getUsername())
+                .claim(CLAIM_USER_ID, user.getId())
+                .claim(CLAIM_TENANT_ID, user.getTenantId())
+                .claim(CLAIM_ROLES, user.getRoles())
+                .claim(CLAIM_ISSUED_AT_MS, now.getTime())
+                .issuedAt(now)
+                .expiration(new Date(now.getTime() + jwtExpirationMs))
+                .signWith(key, Jwts.SIG.HS256)
                 .compact();
     }
 
-    private SecretKey key() {
-        return Keys.hmacShaKeyFor(Decoders.BASE64.decode(jwtSecret));
+    /**
+     * Rebuilds the principal from verified claims, or returns null for tokens issued
+     * before the identity claims were added.
+     */
+    public AuthenticatedUser toPrincipal(Claims claims) {
+        Long userId = claims.get(CLAIM_USER_ID, Long.class);
+        String tenantId = claims.get(CLAIM_TENANT_ID, String.class);
+        List<?> roles = claims.get(CLAIM_ROLES, List.class);
+        if (userId == null || tenantId == null || roles == null) {
+            return null;
+        }
+        return new AuthenticatedUser(userId, claims.getSubject(), null, tenantId,
+                roles.stream().map(String::valueOf).toList());
     }
 
-    public String getUserNameFromJwtToken(String token) {
-        return Jwts.parser().verifyWith(key()).build()
-                .parseSignedClaims(token).getPayload().getSubject();
+    /**
+     * When the token was issued, to the millisecond where the token carries it and to
+     * the second otherwise; null if it carries neither.
+     */
+    public Instant issuedAt(Claims claims) {
+        Long issuedAtMs = claims.get(CLAIM_ISSUED_AT_MS, Long.class);
+        if (issuedAtMs != null) {
+            return Instant.ofEpochMilli(issuedAtMs);
+        }
+        return claims.getIssuedAt() != null ? claims.getIssuedAt().toInstant() : null;
     }
 
-    public boolean validateJwtToken(String authToken) {
+    /**
+     * Verifies the token and returns its claims in a single parse, or empty if the
+     * token is malformed, expired, unsupported or wrongly signed.
+     */
+    public Optional<Claims> parseClaims(String token) {
         try {
-            Jwts.parser().verifyWith(key()).build().parse(authToken);
-            return true;
+            return Optional.of(parser.parseSignedClaims(token).getPayload());
         } catch (MalformedJwtException e) {
             logger.error("Invalid JWT token: {}", e.getMessage());
         } catch (ExpiredJwtException e) {
             logger.error("JWT token is expired: {}", e.getMessage());
         } catch (UnsupportedJwtException e) {
             logger.error("JWT token is unsupported: {}", e.getMessage());
+        } catch (SecurityException e) {
+            logger.error("Invalid JWT signature: {}", e.getMessage());
         } catch (IllegalArgumentException e) {
             logger.error("JWT claims string is empty: {}", e.getMessage());
         }
 
-        return false;
+        return Optional.empty();
     }
 }
@@ -31,7 +31,9 @@ public class TenantFilter extends OncePerRequestFilter {
                 ? SecurityContextHolder.getContext().getAuthentication().getPrincipal()
                 : null;
 
-        if (principal instanceof UserDetails userDetails) {
+        if (principal instanceof AuthenticatedUser authenticatedUser) {
+            tenantId = authenticatedUser.getTenantId();
+        } else if (principal instanceof UserDetails userDetails) {
             User user = userRepository.findByUsername(userDetails.getUsername()).orElse(null);
             if (user != null) {
                 tenantId = user.getTenantId();
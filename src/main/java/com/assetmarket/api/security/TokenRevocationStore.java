@@ -0,0 +1,48 @@
+package com.assetmarket.api.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * In-memory record of per-user token revocations: every token a user was issued up
+ * to the moment of revocation is rejected. Entries only need to outlive the tokens
+ * they revoke, so they expire with the JWT lifetime. Revocations are local to this
+ * instance.
+ */
+@Component
+public class TokenRevocationStore {
+
+    private final boolean enabled;
+    private final Cache<Long, Instant> revokedUntil;
+
+    public TokenRevocationStore(
+            @Value("${assetmarket.app.jwtRevocationEnabled:true}") boolean enabled,
+            @Value("${assetmarket.app.jwtExpirationMs:86400000}") long jwtExpirationMs) {
+        this.enabled = enabled;
+        this.revokedUntil = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofMillis(jwtExpirationMs))
+                .build();
+    }
+
+    public void revokeAll(Long userId) {
+        revokedUntil.put(userId, Instant.now());
+    }
+
+    /**
+     * Whether the token was issued at or before the user's last revocation;
+     * {@code issuedAt} comes from {@link JwtUtils#issuedAt}, at the precision the
+     * token carries.
+     */
+    public boolean isRevoked(Long userId, Instant issuedAt) {
+        if (!enabled || userId == null) {
+            return false;
+        }
+        Instant until = revokedUntil.getIfPresent(userId);
+        return until != null && (issuedAt == null || !issuedAt.isAfter(until));
+    }
+}
@@ -3,20 +3,20 @@ package com.assetmarket.api.security;
 import com.assetmarket.api.entity.User;
 import com.assetmarket.api.repository.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.util.stream.Collectors;
-
 @Service
 public class UserDetailsServiceImpl implements UserDetailsService {
         @Autowired
         UserRepository userRepository;
 
+        @Autowired
+        UserPrincipalCache userPrincipalCache;
+
         @Override
         @Transactional
         public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
@@ -26,15 +26,12 @@ public class UserDetailsServiceImpl implements UserDetailsService {
                                         "Tenant context missing. X-Tenant-ID header required for authentication.");
                 }
 
-                User user = userRepository.findByUsernameAndTenantId(username, tenantId)
-                                .orElseThrow(() -> new UsernameNotFoundException(
-                                                String.format("User %s not found in tenant %s", username, tenantId)));
-
-                return new org.springframework.security.core.userdetails.User(
-                                user.getUsername(),
-                                user.getPassword(),
-                                user.getRoles().stream()
-                                                .map(role -> new SimpleGrantedAuthority(role.name()))
-                                                .collect(Collectors.toList()));
+                return userPrincipalCache.get(tenantId, username, () -> {
+                        User user = userRepository.findByUsernameAndTenantId(username, tenantId)
+                                        .orElseThrow(() -> new UsernameNotFoundException(
+                                                        String.format("User %s not found in tenant %s", username,
+                                                                        tenantId)));
+                        return AuthenticatedUser.from(user);
+                });
         }
 }
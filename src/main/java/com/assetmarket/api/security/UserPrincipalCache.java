@@ -0,0 +1,74 @@
+package com.assetmarket.api.security;
+
+import com.assetmarket.api.entity.UserChangedEvent;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.function.Supplier;
+
+/**
+ * Short-lived cache of principals loaded by {@link UserDetailsServiceImpl}, keyed by
+ * tenant and username. Entries are evicted on every {@link UserChangedEvent}, so
+ * whenever a user is saved; the TTL bounds how long a change made elsewhere
+ * (another instance, a direct SQL update) can go unnoticed. Hit and miss counts are published as the
+ * {@code cache.*} meters tagged {@code cache=userPrincipals}.
+ */
+@Component
+public class UserPrincipalCache {
+
+    private record Key(String tenantId, String username) {
+    }
+
+    private final Cache<Key, AuthenticatedUser> cache;
+
+    public UserPrincipalCache(MeterRegistry meterRegistry,
+            @Value("${assetmarket.app.userCacheTtl:30s}") Duration ttl,
+            @Value("${assetmarket.app.userCacheMaxSize:10000}") long maxSize) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "userPrincipals");
+    }
+
+    public AuthenticatedUser get(String tenantId, String username, Supplier<AuthenticatedUser> loader) {
+        // Loaded outside the cache's own computation: the lookup may flush a pending
+        // user change, and its listener evicts from this cache
+        Key key = new Key(tenantId, username);
+        AuthenticatedUser user = cache.getIfPresent(key);
+        if (user == null) {
+            user = loader.get();
+            cache.put(key, user);
+        }
+        return user;
+    }
+
+    public void evict(String tenantId, String username) {
+        cache.invalidate(new Key(tenantId, username));
+    }
+
+    @EventListener
+    public void onUserChanged(UserChangedEvent event) {
+        evict(event.tenantId(), event.username());
+
+        // Evict again once the transaction ends, so a concurrent request cannot
+        // re-cache the pre-commit row in between
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    evict(event.tenantId(), event.username());
+                }
+            });
+        }
+    }
+}
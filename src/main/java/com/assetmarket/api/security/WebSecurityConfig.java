@@ -1,8 +1,13 @@
 package com.assetmarket.api.security;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.autoconfigure.security.servlet.EndpointRequest;
+import org.springframework.boot.actuate.health.HealthEndpoint;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.security.authorization.AuthorizationDecision;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
@@ -10,11 +15,15 @@ import org.springframework.security.config.annotation.method.configuration.Enabl
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
 import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.core.Authentication;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.access.intercept.RequestAuthorizationContext;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 
+import java.util.function.Supplier;
+
 @Configuration
 @EnableMethodSecurity
 public class WebSecurityConfig {
@@ -24,11 +33,22 @@ public class WebSecurityConfig {
     @Autowired
     private TenantFilter tenantFilter;
 
+    @Autowired
+    private Environment environment;
+
     @Bean
     public AuthTokenFilter authenticationJwtTokenFilter() {
         return new AuthTokenFilter();
     }
 
+    // Runs inside the security chain only, after the JWT has been read
+    @Bean
+    public FilterRegistrationBean<TenantFilter> tenantFilterRegistration(TenantFilter filter) {
+        FilterRegistrationBean<TenantFilter> registration = new FilterRegistrationBean<>(filter);
+        registration.setEnabled(false);
+        return registration;
+    }
+
     @Bean
     public DaoAuthenticationProvider authenticationProvider() {
         DaoAuthenticationProvider authProvider = new DaoAuthenticationProvider();
@@ -60,12 +80,25 @@ public class WebSecurityConfig {
                                 "/api/v1/categories/**")
                         .permitAll()
                         .requestMatchers("/v3/api-docs/**", "/swagger-ui/**", "/swagger-ui.html").permitAll()
+                        // Health serves load balancer and orchestrator probes; metrics and any
+                        // other endpoint only answer on the internal management port
+                        .requestMatchers(EndpointRequest.to(HealthEndpoint.class)).permitAll()
+                        .requestMatchers(EndpointRequest.toAnyEndpoint()).access(this::onManagementPort)
                         .anyRequest().authenticated());
 
         http.authenticationProvider(authenticationProvider());
-        http.addFilterBefore(tenantFilter, UsernamePasswordAuthenticationFilter.class);
-        http.addFilterAfter(authenticationJwtTokenFilter(), TenantFilter.class);
+        // The token is read first so the tenant can come from its claims
+        http.addFilterBefore(authenticationJwtTokenFilter(), UsernamePasswordAuthenticationFilter.class);
+        http.addFilterAfter(tenantFilter, AuthTokenFilter.class);
 
         return http.build();
     }
+
+    // Set once a separate management server (management.server.port) has started
+    private AuthorizationDecision onManagementPort(Supplier<Authentication> authentication,
+            RequestAuthorizationContext context) {
+        Integer managementPort = environment.getProperty("local.management.port", Integer.class);
+        return new AuthorizationDecision(managementPort != null
+                && managementPort == context.getRequest().getLocalPort());
+    }
 }
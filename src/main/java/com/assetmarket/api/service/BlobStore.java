@@ -0,0 +1,73 @@
+package com.assetmarket.api.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Where uploaded files live. Keys are {@code /}-separated paths such as
+ * {@code {tenant}/{sha256}.jpg}; objects are written once and never modified.
+ * <p>
+ * The backend is chosen with {@code app.storage.type}: {@code local} (default,
+ * {@link LocalBlobStore}) or {@code s3} ({@link S3BlobStore}).
+ */
+public interface BlobStore {
+
+    /**
+     * A new scratch file from which {@link #put} can store efficiently.
+     */
+    Path newTempFile() throws IOException;
+
+    /**
+     * Stores {@code file} under {@code key}, consuming the file. Does nothing but
+     * delete the file if the key already exists, since equal keys mean equal content.
+     */
+    void put(String key, Path file, String contentType) throws IOException;
+
+    boolean exists(String key) throws IOException;
+
+    InputStream open(String key) throws IOException;
+
+    /**
+     * The first {@code length} bytes of the object, or fewer if it is shorter.
+     */
+    byte[] readPrefix(String key, int length) throws IOException;
+
+    void delete(String key) throws IOException;
+
+    /**
+     * The URL clients load the object from.
+     */
+    String url(String key);
+
+    /**
+     * The key of an object given its {@link #url}, or null if the URL does not point
+     * into this store (e.g. an external image).
+     */
+    String keyOf(String url);
+
+    /**
+     * Whether the {@link #url} of a missing image variant serves the original instead
+     * of failing, so variant URLs can be handed out before the variants exist.
+     */
+    default boolean servesOriginalForMissingVariants() {
+        return false;
+    }
+
+    /**
+     * A URL the client can upload the object to directly, bypassing the API, or empty
+     * if the backend does not support direct uploads.
+     *
+     * @param sha256 hex SHA-256 of the content; the store rejects other content
+     */
+    Optional<PresignedUpload> presignUpload(String key, String contentType, long size, String sha256,
+            Duration ttl);
+
+    record PresignedUpload(String url, String method, Map<String, List<String>> headers, Instant expiresAt) {
+    }
+}
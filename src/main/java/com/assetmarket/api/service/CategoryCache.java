@@ -0,0 +1,107 @@
+package com.assetmarket.api.service;
+
+import com.assetmarket.api.entity.Category;
+import com.assetmarket.api.entity.CategoryChangedEvent;
+import com.assetmarket.api.repository.CategoryRepository;
+import com.assetmarket.api.security.TenantContext;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Objects;
+
+/**
+ * Tenant-scoped cache of categories by name, each stored as its id and name with
+ * its compiled attribute schema. Entries are immutable and hold no entity, so
+ * they can be shared across threads and sessions; callers that need the entity
+ * take a reference by id in their own session. Entries are evicted on every
+ * {@link CategoryChangedEvent}; the TTL only bounds staleness when another
+ * instance changes a category.
+ */
+@Component
+public class CategoryCache {
+
+    public record Entry(Long id, String name, CompiledAttributeSchema schema) {
+    }
+
+    private record Key(String tenantId, String name) {
+    }
+
+    private final CategoryRepository categoryRepository;
+    private final Cache<Key, Entry> cache;
+
+    public CategoryCache(CategoryRepository categoryRepository,
+            @Value("${app.category-cache.max-size:10000}") long maxSize,
+            @Value("${app.category-cache.ttl:10m}") Duration ttl) {
+        this.categoryRepository = categoryRepository;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .build();
+    }
+
+    /**
+     * Returns the category with the given name in the current tenant, or null if
+     * there is none. Misses are not cached.
+     */
+    public Entry find(String name) {
+        if (name == null) {
+            return null;
+        }
+        String tenantId = TenantContext.getCurrentTenant();
+        if (tenantId == null) {
+            return load(name);
+        }
+        // Not cache.get(key, loader): the lookup can auto-flush a pending category
+        // change, whose listener would then evict from inside the computation
+        Key key = new Key(tenantId, name);
+        Entry entry = cache.getIfPresent(key);
+        if (entry == null) {
+            entry = load(name);
+            if (entry != null) {
+                cache.put(key, entry);
+            }
+        }
+        return entry;
+    }
+
+    public void evict(Category category) {
+        evict(category.getId(), category.getTenantId(), category.getName());
+    }
+
+    @EventListener
+    public void onCategoryChanged(CategoryChangedEvent event) {
+        evict(event.id(), event.tenantId(), event.name());
+
+        // Evict again once the transaction ends, so a concurrent request cannot
+        // re-cache the pre-commit row in between
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    evict(event.id(), event.tenantId(), event.name());
+                }
+            });
+        }
+    }
+
+    private void evict(Long id, String tenantId, String name) {
+        cache.invalidate(new Key(tenantId, name));
+        // A rename leaves the entry under the old name behind
+        if (id != null) {
+            cache.asMap().values().removeIf(entry -> Objects.equals(entry.id(), id));
+        }
+    }
+
+    private Entry load(String name) {
+        return categoryRepository.findByName(name)
+                .map(category -> new Entry(category.getId(), category.getName(),
+                        CompiledAttributeSchema.compile(category.getAttributeSchema())))
+                .orElse(null);
+    }
+}
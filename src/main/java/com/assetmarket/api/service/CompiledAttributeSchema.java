@@ -0,0 +1,129 @@
+package com.assetmarket.api.service;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Parsed form of a category's {@code attributeSchema}: an immutable array of typed
+ * field checkers, also indexed by name, so validation and attribute search do not
+ * re-interpret the raw JSON list on every request.
+ */
+public final class CompiledAttributeSchema {
+
+    public enum FieldType {
+        NUMBER("number") {
+            @Override
+            boolean accepts(Object value) {
+                return value instanceof Number;
+            }
+        },
+        BOOLEAN("boolean") {
+            @Override
+            boolean accepts(Object value) {
+                return value instanceof Boolean;
+            }
+        },
+        STRING("string") {
+            @Override
+            boolean accepts(Object value) {
+                return value instanceof String;
+            }
+        },
+        OTHER(null) {
+            @Override
+            boolean accepts(Object value) {
+                return true;
+            }
+        };
+
+        private final String label;
+
+        FieldType(String label) {
+            this.label = label;
+        }
+
+        abstract boolean accepts(Object value);
+
+        static FieldType of(String type) {
+            if (type == null) {
+                return OTHER;
+            }
+            return switch (type.toLowerCase()) {
+                case "number" -> NUMBER;
+                case "boolean" -> BOOLEAN;
+                case "string" -> STRING;
+                default -> OTHER;
+            };
+        }
+    }
+
+    public record Field(String name, FieldType type, boolean required) {
+
+        void check(Object value) {
+            if (value == null) {
+                if (required) {
+                    throw new IllegalArgumentException("Metadata field '" + name + "' is required for this category.");
+                }
+            } else if (!type.accepts(value)) {
+                throw new IllegalArgumentException("Field '" + name + "' must be a " + type.label + ".");
+            }
+        }
+    }
+
+    private static final CompiledAttributeSchema EMPTY = new CompiledAttributeSchema(new Field[0], Map.of());
+
+    private final Field[] fields;
+    private final Map<String, Field> fieldsByName;
+
+    private CompiledAttributeSchema(Field[] fields, Map<String, Field> fieldsByName) {
+        this.fields = fields;
+        this.fieldsByName = fieldsByName;
+    }
+
+    public static CompiledAttributeSchema compile(List<Map<String, Object>> schema) {
+        if (schema == null || schema.isEmpty()) {
+            return EMPTY;
+        }
+
+        Field[] fields = new Field[schema.size()];
+        Map<String, Field> fieldsByName = new HashMap<>();
+        for (int i = 0; i < fields.length; i++) {
+            Map<String, Object> fieldSchema = schema.get(i);
+            String name = (String) fieldSchema.get("name");
+            FieldType type = FieldType.of((String) fieldSchema.get("type"));
+            boolean required = fieldSchema.get("required") != null && (boolean) fieldSchema.get("required");
+            fields[i] = new Field(name, type, required);
+            fieldsByName.put(name, fields[i]);
+        }
+        return new CompiledAttributeSchema(fields, Collections.unmodifiableMap(fieldsByName));
+    }
+
+    public boolean isEmpty() {
+        return fields.length == 0;
+    }
+
+    public Field field(String name) {
+        return fieldsByName.get(name);
+    }
+
+    /**
+     * Checks {@code attributes} against the schema and returns only the declared
+     * fields that are present. Unknown keys are dropped.
+     *
+     * @throws IllegalArgumentException if a required field is missing or a value
+     *                                  has the wrong type
+     */
+    public Map<String, Object> validate(Map<String, Object> attributes) {
+        Map<String, Object> sanitized = new HashMap<>(Math.max(4, fields.length * 4 / 3 + 1));
+        for (Field field : fields) {
+            Object value = attributes != null ? attributes.get(field.name()) : null;
+            field.check(value);
+            if (value != null) {
+                sanitized.put(field.name(), value);
+            }
+        }
+        return sanitized;
+    }
+}
@@ -1,53 +1,242 @@
 package com.assetmarket.api.service;
 
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
-import org.springframework.util.StringUtils;
+import org.springframework.util.unit.DataSize;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.nio.file.Paths;
-import java.nio.file.StandardCopyOption;
-import java.util.UUID;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Optional;
+import java.util.regex.Pattern;
 
+/**
+ * Stores uploaded images in the {@link BlobStore} under {@code {tenant}/{sha256}.{ext}}.
+ * <p>
+ * The upload is streamed through a fixed buffer into a temp file while its SHA-256
+ * is computed, its type is taken from the magic bytes, and it is then handed to the
+ * store. Naming files by content means an image uploaded again within the same
+ * tenant reuses the stored file. Web-sized variants are then generated in the
+ * background by {@link ImageDerivativeService}.
+ * <p>
+ * With a store that supports it, clients can instead upload straight to storage:
+ * {@link #prepareDirectUpload} hands out a presigned URL for the declared content and
+ * {@link #completeDirectUpload} checks what arrived.
+ */
+@Slf4j
 @Service
 public class FileUploadService {
 
-    @Value("${app.upload.dir:uploads}")
-    private String uploadDir;
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final Pattern SHA256_HEX = Pattern.compile("[0-9a-f]{64}");
+
+    @Value("${app.upload.max-size:10MB}")
+    private DataSize maxSize;
+
+    @Value("${app.upload.max-files:10}")
+    private int maxFiles;
+
+    @Value("${app.upload.direct-upload-ttl:15m}")
+    private Duration directUploadTtl;
+
+    @Autowired
+    private BlobStore blobStore;
+
+    @Autowired
+    private ImageDerivativeService imageDerivativeService;
+
+    /**
+     * A direct upload: where the file will be found, and where to send it unless it
+     * is stored already ({@code upload} is then null).
+     */
+    public record DirectUpload(String key, String url, BlobStore.PresignedUpload upload) {
+    }
+
+    /**
+     * Stores several files, at most {@code app.upload.max-files}, and returns their
+     * URLs in order.
+     */
+    public List<String> storeFiles(List<MultipartFile> files, String tenantId) {
+        if (files.size() > maxFiles) {
+            throw new IllegalArgumentException("At most " + maxFiles + " files can be uploaded at once");
+        }
+        List<String> urls = new ArrayList<>(files.size());
+        for (MultipartFile file : files) {
+            urls.add(storeFile(file, tenantId));
+        }
+        return urls;
+    }
 
     public String storeFile(MultipartFile file, String tenantId) {
-        // Normalize file name
-        String originalFileName = StringUtils.cleanPath(file.getOriginalFilename());
-        String extension = "";
+        validateTenant(tenantId);
+
+        Path tempFile = null;
+        try {
+            tempFile = blobStore.newTempFile();
+            StreamedFile streamed = streamToFile(file, tempFile);
+            String key = key(tenantId, streamed.sha256(), streamed.type());
+
+            blobStore.put(key, tempFile, streamed.type().getContentType());
+            tempFile = null;
+            // Also for reused files, in case their variants were never generated
+            imageDerivativeService.generateAsync(key);
+
+            return blobStore.url(key);
+        } catch (IOException ex) {
+            throw new RuntimeException("Could not store file " + file.getOriginalFilename() + ". Please try again!",
+                    ex);
+        } finally {
+            deleteQuietly(tempFile);
+        }
+    }
 
-        int i = originalFileName.lastIndexOf('.');
-        if (i > 0) {
-            extension = originalFileName.substring(i);
+    /**
+     * Presigns an upload of the described image.
+     *
+     * @return empty if the configured store does not support direct uploads
+     */
+    public Optional<DirectUpload> prepareDirectUpload(String tenantId, String contentType, long size,
+            String sha256) {
+        validateTenant(tenantId);
+        ImageType type = Arrays.stream(ImageType.values())
+                .filter(candidate -> candidate.getContentType().equals(contentType))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException(
+                        "Unsupported content type; expected a JPEG, PNG, GIF or WebP image"));
+        if (size <= 0 || size > maxSize.toBytes()) {
+            throw new IllegalArgumentException("File size must be between 1 byte and " + maxSize);
         }
+        String hash = sha256 == null ? "" : sha256.toLowerCase();
+        if (!SHA256_HEX.matcher(hash).matches()) {
+            throw new IllegalArgumentException("sha256 must be 64 hex characters");
+        }
+
+        String key = key(tenantId, hash, type);
+        try {
+            if (blobStore.exists(key)) {
+                return Optional.of(new DirectUpload(key, blobStore.url(key), null));
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("Could not prepare upload. Please try again!", e);
+        }
+        return blobStore.presignUpload(key, contentType, size, hash, directUploadTtl)
+                .map(upload -> new DirectUpload(key, blobStore.url(key), upload));
+    }
 
-        String fileName = UUID.randomUUID().toString() + extension;
+    /**
+     * Accepts a file uploaded with {@link #prepareDirectUpload}: checks it is the
+     * image type its key claims (deleting it otherwise) and queues its variants.
+     *
+     * @return the file's URL
+     */
+    public String completeDirectUpload(String tenantId, String key) {
+        validateTenant(tenantId);
+        String prefix = tenantId + "/";
+        String name = key == null || !key.startsWith(prefix) ? "" : key.substring(prefix.length());
+        int dot = name.lastIndexOf('.');
+        if (dot < 0 || !SHA256_HEX.matcher(name.substring(0, dot)).matches()) {
+            throw new IllegalArgumentException("Invalid upload key: " + key);
+        }
 
         try {
-            // Check if the file's name contains invalid characters
-            if (fileName.contains("..")) {
-                throw new IllegalArgumentException("Sorry! Filename contains invalid path sequence " + fileName);
+            if (!blobStore.exists(key)) {
+                throw new IllegalArgumentException("Nothing was uploaded for " + key);
+            }
+            byte[] header = blobStore.readPrefix(key, ImageType.HEADER_LENGTH);
+            ImageType type = ImageType.detect(header, header.length);
+            if (type == null || !type.getExtension().equals(name.substring(dot + 1))) {
+                blobStore.delete(key);
+                throw new IllegalArgumentException("Uploaded file is not the declared image type");
             }
+        } catch (IOException e) {
+            throw new RuntimeException("Could not verify upload. Please try again!", e);
+        }
 
-            // Target directory: uploads/{tenantId}
-            Path tenantUploadDir = Paths.get(uploadDir).resolve(tenantId).toAbsolutePath().normalize();
-            Files.createDirectories(tenantUploadDir);
+        imageDerivativeService.generateAsync(key);
+        return blobStore.url(key);
+    }
 
-            // Copy file to the target location (Replacing existing file with the same name)
-            Path targetLocation = tenantUploadDir.resolve(fileName);
-            Files.copy(file.getInputStream(), targetLocation, StandardCopyOption.REPLACE_EXISTING);
+    private static String key(String tenantId, String sha256, ImageType type) {
+        return tenantId + "/" + sha256 + "." + type.getExtension();
+    }
 
-            // Return relative path or URL
-            return "/uploads/" + tenantId + "/" + fileName;
-        } catch (IOException ex) {
-            throw new RuntimeException("Could not store file " + fileName + ". Please try again!", ex);
+    private static void validateTenant(String tenantId) {
+        if (tenantId == null || tenantId.isEmpty() || tenantId.startsWith(".") || tenantId.contains("/")
+                || tenantId.contains("\\")) {
+            throw new IllegalArgumentException("Invalid tenant for upload: " + tenantId);
+        }
+    }
+
+    private record StreamedFile(ImageType type, String sha256) {
+    }
+
+    private StreamedFile streamToFile(MultipartFile file, Path target) throws IOException {
+        MessageDigest digest = sha256();
+        ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+        byte[] header = new byte[ImageType.HEADER_LENGTH];
+        int headerLength = 0;
+        long size = 0;
+
+        try (ReadableByteChannel in = Channels.newChannel(file.getInputStream());
+                FileChannel out = FileChannel.open(target, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                        StandardOpenOption.WRITE)) {
+            while (in.read(buffer) >= 0) {
+                buffer.flip();
+                size += buffer.remaining();
+                if (size > maxSize.toBytes()) {
+                    throw new IllegalArgumentException("File exceeds the maximum upload size of " + maxSize);
+                }
+                if (headerLength < header.length) {
+                    int count = Math.min(header.length - headerLength, buffer.remaining());
+                    buffer.get(buffer.position(), header, headerLength, count);
+                    headerLength += count;
+                }
+                digest.update(buffer.duplicate());
+                while (buffer.hasRemaining()) {
+                    out.write(buffer);
+                }
+                buffer.clear();
+            }
+        }
+
+        ImageType type = ImageType.detect(header, headerLength);
+        if (type == null) {
+            throw new IllegalArgumentException("Unsupported file type; expected a JPEG, PNG, GIF or WebP image");
+        }
+        return new StreamedFile(type, HexFormat.of().formatHex(digest.digest()));
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 unavailable", e);
+        }
+    }
+
+    private static void deleteQuietly(Path path) {
+        if (path == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            log.warn("Could not delete temp upload {}", path, e);
         }
     }
 }
@@ -0,0 +1,194 @@
+package com.assetmarket.api.service;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Generates the {@link ImageVariant}s of stored images in the background.
+ * <p>
+ * Work runs on a small bounded pool; when it is saturated the request is dropped
+ * and the variant URLs keep serving the original (see {@code UploadResourceHandler}),
+ * so uploads never wait for resizing. Variants are JPEG, stored in the
+ * {@link BlobStore} next to the original, and skipped when they already exist.
+ * <p>
+ * A decoded image takes four bytes per pixel whatever its file size, so the
+ * dimensions are read from the header first and images above
+ * {@code app.upload.derivatives.max-pixels} are left without variants. Such images
+ * get a {@link ImageVariant#noVariantsKey marker} instead on stores that do not
+ * serve originals for missing variants, so {@link ImageVariantUrls} stops looking.
+ */
+@Slf4j
+@Service
+public class ImageDerivativeService {
+
+    private final BlobStore blobStore;
+    private final ThreadPoolExecutor executor;
+    private final float jpegQuality;
+    private final long maxPixels;
+
+    public ImageDerivativeService(BlobStore blobStore,
+            @Value("${app.upload.derivatives.threads:2}") int threads,
+            @Value("${app.upload.derivatives.queue-capacity:200}") int queueCapacity,
+            @Value("${app.upload.derivatives.jpeg-quality:0.8}") float jpegQuality,
+            @Value("${app.upload.derivatives.max-pixels:40000000}") long maxPixels) {
+        this.blobStore = blobStore;
+        this.jpegQuality = jpegQuality;
+        this.maxPixels = maxPixels;
+
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "image-derivatives-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                (task, pool) -> log.warn("Image derivative queue full, serving originals for now"));
+    }
+
+    /**
+     * Queues generation of all variants of the stored image {@code key} that do not
+     * exist yet.
+     */
+    public void generateAsync(String key) {
+        executor.execute(() -> generate(key));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    void generate(String key) {
+        try {
+            BufferedImage source = null;
+            for (ImageVariant variant : ImageVariant.values()) {
+                String variantKey = variant.key(key);
+                if (blobStore.exists(variantKey)) {
+                    continue;
+                }
+                if (source == null) {
+                    source = read(key);
+                    if (source == null) {
+                        markNoVariants(key);
+                        return;
+                    }
+                }
+                Path file = blobStore.newTempFile();
+                try {
+                    write(resize(source, variant.getWidth()), file);
+                    blobStore.put(variantKey, file, ImageType.JPEG.getContentType());
+                } finally {
+                    Files.deleteIfExists(file);
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            log.error("Could not generate derivatives of {}", key, e);
+        }
+    }
+
+    private void markNoVariants(String key) throws IOException {
+        if (blobStore.servesOriginalForMissingVariants()) {
+            return;
+        }
+        Path file = blobStore.newTempFile();
+        try {
+            Files.write(file, new byte[0]);
+            blobStore.put(ImageVariant.noVariantsKey(key), file, "application/octet-stream");
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    // Null when the image cannot be decoded or exceeds the pixel budget
+    private BufferedImage read(String key) throws IOException {
+        try (InputStream in = blobStore.open(key);
+                ImageInputStream input = ImageIO.createImageInputStream(in)) {
+            Iterator<ImageReader> readers = input == null ? null : ImageIO.getImageReaders(input);
+            if (readers == null || !readers.hasNext()) {
+                log.debug("No decoder for {}, skipping derivatives", key);
+                return null;
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(input, true, true);
+                long pixels = (long) reader.getWidth(0) * reader.getHeight(0);
+                if (pixels > maxPixels) {
+                    log.warn("{} has {} pixels, above the budget of {}; skipping derivatives", key, pixels,
+                            maxPixels);
+                    return null;
+                }
+                return reader.read(0);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    // Halves in steps before the final resize; a single bilinear pass over a large
+    // downscale skips most source pixels and aliases badly
+    private static BufferedImage resize(BufferedImage source, int maxWidth) {
+        int width = source.getWidth();
+        int height = source.getHeight();
+        int targetWidth = Math.min(maxWidth, width);
+        int targetHeight = Math.max(1, (int) Math.round((double) height * targetWidth / width));
+
+        BufferedImage current = source;
+        do {
+            width = Math.max(width / 2, targetWidth);
+            height = Math.max(height / 2, targetHeight);
+            current = draw(current, width, height);
+        } while (width != targetWidth);
+        return current;
+    }
+
+    private static BufferedImage draw(BufferedImage source, int width, int height) {
+        // RGB with a white background: JPEG has no alpha channel
+        BufferedImage scaled = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = scaled.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            graphics.drawImage(source, 0, 0, width, height, Color.WHITE, null);
+        } finally {
+            graphics.dispose();
+        }
+        return scaled;
+    }
+
+    private void write(BufferedImage image, Path target) throws IOException {
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        try (ImageOutputStream out = ImageIO.createImageOutputStream(target.toFile())) {
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(jpegQuality);
+            writer.setOutput(out);
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+    }
+}
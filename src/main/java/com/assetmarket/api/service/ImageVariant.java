@@ -0,0 +1,56 @@
+package com.assetmarket.api.service;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Downscaled JPEG copies generated for every uploaded image, stored next to the
+ * original as {@code {name}_{suffix}.jpg}.
+ */
+public enum ImageVariant {
+    THUMBNAIL("thumb", 320),
+    MEDIUM("medium", 1024);
+
+    private static final Pattern VARIANT_PATH = Pattern.compile("(.+)_(thumb|medium)\\.jpg");
+
+    private final String suffix;
+    private final int width;
+
+    ImageVariant(String suffix, int width) {
+        this.suffix = suffix;
+        this.width = width;
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    /**
+     * The variant's {@link BlobStore} key for the key of an original.
+     */
+    public String key(String originalKey) {
+        return baseName(originalKey) + "_" + suffix + ".jpg";
+    }
+
+    /**
+     * The {@link BlobStore} key of the empty marker stored next to an original for
+     * which no variants can be generated (no decoder, or above the pixel budget).
+     */
+    public static String noVariantsKey(String originalKey) {
+        return baseName(originalKey) + "_novariants";
+    }
+
+    private static String baseName(String originalKey) {
+        int dot = originalKey.lastIndexOf('.');
+        return dot > originalKey.lastIndexOf('/') + 1 ? originalKey.substring(0, dot) : originalKey;
+    }
+
+    /**
+     * The name of the original a variant path was derived from, without extension,
+     * or null if the path is not a variant.
+     */
+    public static String originalBaseName(String variantPath) {
+        Matcher matcher = VARIANT_PATH.matcher(variantPath);
+        return matcher.matches() ? matcher.group(1) : null;
+    }
+}
@@ -0,0 +1,144 @@
+package com.assetmarket.api.service;
+
+import com.assetmarket.api.dto.ImageVariantsDTO;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Builds the {@link ImageVariantsDTO} of an image URL.
+ * <p>
+ * Variants are generated in the background after upload. Stores that answer a
+ * missing variant with the original get variant URLs straight away; on the others
+ * (S3) a variant URL is only handed out once the variant is known to exist, and the
+ * original stands in for it until then.
+ * <p>
+ * Lookups never run on the request thread: an unknown image is answered with its
+ * original while a background check looks for its medium variant (written last)
+ * and for the {@link ImageVariant#noVariantsKey marker} of images that will never
+ * have variants. Both outcomes are final and cached. A variant still missing after
+ * {@code app.upload.variant-check-interval} is checked again, and its generation
+ * queued again in case the job was dropped or failed.
+ */
+@Slf4j
+@Component
+public class ImageVariantUrls {
+
+    private static final int CHECK_QUEUE_CAPACITY = 1000;
+
+    private enum State {
+        READY, MISSING, NEVER
+    }
+
+    private record Status(State state, long checkedAt) {
+    }
+
+    private final BlobStore blobStore;
+    private final ImageDerivativeService imageDerivativeService;
+    private final long checkIntervalNanos;
+    private final Cache<String, Status> statuses;
+    private final Set<String> checking = ConcurrentHashMap.newKeySet();
+    private final ThreadPoolExecutor executor;
+
+    public ImageVariantUrls(BlobStore blobStore, ImageDerivativeService imageDerivativeService,
+            @Value("${app.upload.variant-check-interval:1m}") Duration checkInterval,
+            @Value("${app.upload.variant-check-threads:2}") int threads) {
+        this.blobStore = blobStore;
+        this.imageDerivativeService = imageDerivativeService;
+        this.checkIntervalNanos = checkInterval.toNanos();
+        this.statuses = Caffeine.newBuilder()
+                .maximumSize(100_000)
+                .build();
+
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(CHECK_QUEUE_CAPACITY),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "image-variant-checks-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    public ImageVariantsDTO of(String url) {
+        // Images hosted elsewhere have no variants
+        String key = blobStore.keyOf(url);
+        if (key == null || !variantsReady(key)) {
+            return ImageVariantsDTO.builder().original(url).medium(url).thumbnail(url).build();
+        }
+        return ImageVariantsDTO.builder()
+                .original(url)
+                .medium(blobStore.url(ImageVariant.MEDIUM.key(key)))
+                .thumbnail(blobStore.url(ImageVariant.THUMBNAIL.key(key)))
+                .build();
+    }
+
+    private boolean variantsReady(String key) {
+        if (blobStore.servesOriginalForMissingVariants()) {
+            return true;
+        }
+        Status status = statuses.getIfPresent(key);
+        if (status == null) {
+            scheduleCheck(key, false);
+            return false;
+        }
+        if (status.state() == State.MISSING && System.nanoTime() - status.checkedAt() >= checkIntervalNanos) {
+            scheduleCheck(key, true);
+        }
+        return status.state() == State.READY;
+    }
+
+    private void scheduleCheck(String key, boolean recheck) {
+        if (!checking.add(key)) {
+            return;
+        }
+        try {
+            executor.execute(() -> {
+                try {
+                    check(key, recheck);
+                } finally {
+                    checking.remove(key);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            // A later request schedules it again
+            checking.remove(key);
+        }
+    }
+
+    private void check(String key, boolean recheck) {
+        try {
+            if (blobStore.exists(ImageVariant.MEDIUM.key(key))) {
+                statuses.put(key, new Status(State.READY, 0));
+            } else if (blobStore.exists(ImageVariant.noVariantsKey(key))) {
+                statuses.put(key, new Status(State.NEVER, 0));
+            } else {
+                statuses.put(key, new Status(State.MISSING, System.nanoTime()));
+                if (recheck) {
+                    imageDerivativeService.generateAsync(key);
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            log.warn("Could not look up variants of {}: {}", key, e.getMessage());
+            statuses.put(key, new Status(State.MISSING, System.nanoTime()));
+        }
+    }
+}
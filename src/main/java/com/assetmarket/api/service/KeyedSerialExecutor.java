@@ -0,0 +1,130 @@
+package com.assetmarket.api.service;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs items submitted under the same key one at a time, in submission order, while
+ * different keys run in parallel on a shared executor. Used for per-chat ordering
+ * of Telegram updates and notifications.
+ * <p>
+ * Each key has a lane that exists only while it has work: it is created on submit
+ * and removed once it has run dry. The handler decides per item whether the item is
+ * done and how long the lane waits before its next run, so a lane can pace or retry
+ * its items without blocking a thread.
+ */
+@Slf4j
+final class KeyedSerialExecutor<T> {
+
+    /**
+     * What the lane does after handling its head item.
+     *
+     * @param done       whether the item is finished and removed; if not, it is
+     *                   handled again on the next run
+     * @param delayNanos how long the lane waits before its next run
+     */
+    record Step(boolean done, long delayNanos) {
+
+        /** The item is finished; the next one is handled straight away. */
+        static final Step NEXT = new Step(true, 0);
+
+        /** The item is finished; the lane waits before handling the next one. */
+        static Step nextAfter(long delayNanos) {
+            return new Step(true, delayNanos);
+        }
+
+        /** The item is handled again after the delay. */
+        static Step retryAfter(long delayNanos) {
+            return new Step(false, delayNanos);
+        }
+    }
+
+    @FunctionalInterface
+    interface Handler<T> {
+        Step handle(String key, T item);
+    }
+
+    private final ScheduledExecutorService executor;
+    private final Handler<T> handler;
+    private final Map<String, Lane> lanes = new ConcurrentHashMap<>();
+
+    KeyedSerialExecutor(ScheduledExecutorService executor, Handler<T> handler) {
+        this.executor = executor;
+        this.handler = handler;
+    }
+
+    void submit(String key, T item) {
+        // Enqueue inside compute so an idle lane cannot be removed concurrently
+        lanes.compute(key, (k, lane) -> {
+            Lane target = lane != null ? lane : new Lane(k);
+            target.enqueue(item);
+            return target;
+        });
+    }
+
+    private final class Lane implements Runnable {
+        private final String key;
+        private final Deque<T> pending = new ArrayDeque<>();
+        private boolean scheduled;
+        private long nextRunAt = System.nanoTime();
+
+        Lane(String key) {
+            this.key = key;
+        }
+
+        synchronized void enqueue(T item) {
+            pending.add(item);
+            if (!scheduled) {
+                scheduled = true;
+                scheduleAt(nextRunAt);
+            }
+        }
+
+        synchronized boolean isIdle() {
+            return !scheduled && pending.isEmpty();
+        }
+
+        // Handles one item per run so a busy key does not starve the others
+        @Override
+        public void run() {
+            T item;
+            synchronized (this) {
+                item = pending.peek();
+                if (item == null) {
+                    scheduled = false;
+                }
+            }
+            if (item == null) {
+                lanes.computeIfPresent(key, (k, lane) -> lane.isIdle() ? null : lane);
+                return;
+            }
+
+            Step step;
+            try {
+                step = handler.handle(key, item);
+            } catch (RuntimeException e) {
+                log.error("Unhandled failure on lane {}; dropping the item", key, e);
+                step = Step.NEXT;
+            }
+
+            synchronized (this) {
+                if (step.done()) {
+                    pending.poll();
+                }
+                nextRunAt = System.nanoTime() + step.delayNanos();
+                // Runs once more even when empty, to retire the lane after the delay
+                scheduleAt(nextRunAt);
+            }
+        }
+
+        private void scheduleAt(long nanoTime) {
+            executor.schedule(this, Math.max(nanoTime - System.nanoTime(), 0), TimeUnit.NANOSECONDS);
+        }
+    }
+}
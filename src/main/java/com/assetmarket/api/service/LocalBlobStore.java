@@ -0,0 +1,108 @@
+package com.assetmarket.api.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Stores files under {@code app.upload.dir}, served at {@code /uploads/**} by
+ * {@code UploadResourceHandler}. Only suitable for a single node or a shared disk.
+ */
+@Component
+@ConditionalOnProperty(name = "app.storage.type", havingValue = "local", matchIfMissing = true)
+public class LocalBlobStore implements BlobStore {
+
+    private static final String URL_PREFIX = "/uploads/";
+    private static final String TEMP_DIR = ".tmp";
+
+    private final Path root;
+
+    public LocalBlobStore(@Value("${app.upload.dir:uploads}") String uploadDir) {
+        this.root = Paths.get(uploadDir).toAbsolutePath().normalize();
+    }
+
+    // Inside the upload dir, so put() is an atomic rename
+    @Override
+    public Path newTempFile() throws IOException {
+        Path tempDir = Files.createDirectories(root.resolve(TEMP_DIR));
+        return tempDir.resolve(UUID.randomUUID() + ".part");
+    }
+
+    @Override
+    public void put(String key, Path file, String contentType) throws IOException {
+        Path target = resolve(key);
+        try {
+            if (!Files.exists(target)) {
+                Files.createDirectories(target.getParent());
+                Files.move(file, target, StandardCopyOption.ATOMIC_MOVE);
+            }
+        } catch (FileAlreadyExistsException e) {
+            // Stored concurrently with the same content
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Override
+    public boolean exists(String key) {
+        return Files.exists(resolve(key));
+    }
+
+    @Override
+    public InputStream open(String key) throws IOException {
+        return Files.newInputStream(resolve(key));
+    }
+
+    @Override
+    public byte[] readPrefix(String key, int length) throws IOException {
+        try (InputStream in = open(key)) {
+            return in.readNBytes(length);
+        }
+    }
+
+    @Override
+    public void delete(String key) throws IOException {
+        Files.deleteIfExists(resolve(key));
+    }
+
+    @Override
+    public String url(String key) {
+        return URL_PREFIX + key;
+    }
+
+    @Override
+    public String keyOf(String url) {
+        return url != null && url.startsWith(URL_PREFIX) ? url.substring(URL_PREFIX.length()) : null;
+    }
+
+    // See UploadResourceHandler.ImageVariantFallbackResolver
+    @Override
+    public boolean servesOriginalForMissingVariants() {
+        return true;
+    }
+
+    @Override
+    public Optional<PresignedUpload> presignUpload(String key, String contentType, long size, String sha256,
+            Duration ttl) {
+        return Optional.empty();
+    }
+
+    private Path resolve(String key) {
+        Path path = root.resolve(key).normalize();
+        if (!path.startsWith(root) || path.equals(root)) {
+            throw new IllegalArgumentException("Invalid storage key: " + key);
+        }
+        return path;
+    }
+}
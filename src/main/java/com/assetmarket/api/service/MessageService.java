@@ -1,19 +1,18 @@
 package com.assetmarket.api.service;
 
 import com.assetmarket.api.dto.MessageDTO;
-import com.assetmarket.api.dto.PropertyDTO;
+import com.assetmarket.api.dto.PropertySummaryDTO;
 import com.assetmarket.api.entity.Message;
 import com.assetmarket.api.entity.Property;
+import com.assetmarket.api.entity.Role;
 import com.assetmarket.api.entity.User;
 import com.assetmarket.api.repository.MessageRepository;
 import com.assetmarket.api.repository.PropertyRepository;
-import com.assetmarket.api.repository.UserRepository;
+import com.assetmarket.api.security.CurrentUserResolver;
 import com.assetmarket.api.security.TenantContext;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
-import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -23,13 +22,13 @@ public class MessageService {
 
     private final MessageRepository messageRepository;
     private final PropertyRepository propertyRepository;
-    private final UserRepository userRepository;
+    private final CurrentUserResolver currentUserResolver;
     private final PropertyService propertyService;
     private final TelegramService telegramService;
 
     @Transactional
     public MessageDTO sendInquiry(Long propertyId, String content) {
-        User sender = getCurrentUser();
+        User sender = currentUserResolver.getUser();
         Property property = propertyRepository.findById(propertyId)
                 .orElseThrow(() -> new IllegalArgumentException("Property not found"));
 
@@ -56,27 +55,24 @@ public class MessageService {
     }
 
     @Transactional(readOnly = true)
-    public Page<PropertyDTO> getMyInquiredProperties(Pageable pageable) {
-        User user = getCurrentUser();
-        return messageRepository.findInquiredProperties(user.getId(), TenantContext.getCurrentTenant(), pageable)
-                .map(propertyService::convertToDTO);
+    public Page<PropertySummaryDTO> getMyInquiredProperties(Pageable pageable) {
+        return propertyService.getPropertiesOfUser(null, currentUserResolver.getUserId(), pageable);
     }
 
     @Transactional(readOnly = true)
     public Page<MessageDTO> getThread(Long propertyId, Long userId, Pageable pageable) {
         // Validation: If requester is a regular user, they can only see their own
         // thread
-        User requester = getCurrentUser();
-        boolean isAdmin = requester.getRoles().stream().anyMatch(r -> r.name().equals("ROLE_ADMIN"));
+        Long requesterId = currentUserResolver.getUserId();
+        boolean isAdmin = currentUserResolver.hasRole(Role.ROLE_ADMIN);
 
-        Long targetUserId = userId != null ? userId : requester.getId();
+        Long targetUserId = userId != null ? userId : requesterId;
 
-        if (!isAdmin && !targetUserId.equals(requester.getId())) {
+        if (!isAdmin && !targetUserId.equals(requesterId)) {
             throw new IllegalArgumentException("Unauthorized to view this thread");
         }
 
-        return messageRepository.findThread(propertyId, targetUserId, TenantContext.getCurrentTenant(), pageable)
-                .map(this::convertToDTO);
+        return messageRepository.findThread(propertyId, targetUserId, TenantContext.getCurrentTenant(), pageable);
     }
 
     private MessageDTO convertToDTO(Message message) {
@@ -90,17 +86,4 @@ public class MessageService {
                 .createdAt(message.getCreatedAt())
                 .build();
     }
-
-    private User getCurrentUser() {
-        Object principal = SecurityContextHolder.getContext().getAuthentication().getPrincipal();
-        String username;
-        if (principal instanceof UserDetails) {
-            username = ((UserDetails) principal).getUsername();
-        } else {
-            username = principal.toString();
-        }
-
-        return userRepository.findByUsernameAndTenantId(username, TenantContext.getCurrentTenant())
-                .orElseThrow(() -> new IllegalStateException("User context not found"));
-    }
 }
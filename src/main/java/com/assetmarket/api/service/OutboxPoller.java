@@ -0,0 +1,226 @@
+package com.assetmarket.api.service;
+
+import com.assetmarket.api.entity.OutboxEvent;
+import com.assetmarket.api.entity.OutboxStatus;
+import com.assetmarket.api.repository.OutboxEventRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.client.RestClientResponseException;
+
+import java.net.InetAddress;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Drains {@code outbox_events} into the registered {@link OutboxSink}s.
+ * <p>
+ * Each poll claims a batch of due events with {@code FOR UPDATE SKIP LOCKED} and
+ * leases them to this node before committing, so any number of nodes can poll
+ * concurrently without claiming the same event. Delivery is at-least-once: an event
+ * whose lease runs out before its outcome is recorded (e.g. the node died) is
+ * claimed again, and the outcome of the stale claim is then discarded. The lease
+ * must therefore outlast a batch's slowest delivery. Failed events are retried with
+ * exponential backoff and marked {@code FAILED} after {@code outbox.max-attempts};
+ * this is the only retry layer, sinks attempt each delivery once.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "outbox.poller.enabled", havingValue = "true", matchIfMissing = true)
+public class OutboxPoller {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Map<String, OutboxSink> sinks;
+
+    private final int batchSize;
+    private final Duration lease;
+    private final int maxAttempts;
+    private final Duration retryBackoff;
+    private final Duration retention;
+    private final String nodeId;
+    private final long pollIntervalMs;
+    // A poll can wait up to the lease for its batch, so it runs on its own thread
+    // rather than holding up the shared @Scheduled executor
+    private final ScheduledExecutorService pollExecutor;
+    private final AtomicBoolean started = new AtomicBoolean();
+
+    public OutboxPoller(OutboxEventRepository outboxEventRepository,
+            TransactionTemplate transactionTemplate,
+            List<OutboxSink> sinks,
+            @Value("${outbox.batch-size:50}") int batchSize,
+            @Value("${outbox.lease:2m}") Duration lease,
+            @Value("${outbox.max-attempts:8}") int maxAttempts,
+            @Value("${outbox.retry-backoff:10s}") Duration retryBackoff,
+            @Value("${outbox.retention:7d}") Duration retention,
+            @Value("${outbox.poll-interval-ms:1000}") long pollIntervalMs) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.sinks = sinks.stream().collect(Collectors.toMap(OutboxSink::eventType, Function.identity()));
+        this.batchSize = batchSize;
+        this.lease = lease;
+        this.maxAttempts = maxAttempts;
+        this.retryBackoff = retryBackoff;
+        this.retention = retention;
+        this.nodeId = hostName() + "-" + UUID.randomUUID().toString().substring(0, 8);
+        this.pollIntervalMs = pollIntervalMs;
+        this.pollExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "outbox-poller");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    // Started like @Scheduled jobs, once the context is ready
+    @EventListener(ContextRefreshedEvent.class)
+    public void start() {
+        if (!started.compareAndSet(false, true)) {
+            return;
+        }
+        pollExecutor.scheduleWithFixedDelay(() -> {
+            try {
+                poll();
+            } catch (RuntimeException e) {
+                // Keeps the schedule alive, as @Scheduled would
+                log.error("Outbox poll failed", e);
+            }
+        }, 0, pollIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        pollExecutor.shutdownNow();
+    }
+
+    public void poll() {
+        List<OutboxEvent> claimed;
+        do {
+            claimed = claimDueEvents();
+            if (!claimed.isEmpty()) {
+                deliver(claimed);
+            }
+        } while (claimed.size() == batchSize);
+    }
+
+    @Scheduled(fixedDelayString = "${outbox.cleanup-interval-ms:3600000}")
+    public void deleteOldSentEvents() {
+        int deleted = outboxEventRepository.deleteSentBefore(LocalDateTime.now().minus(retention));
+        if (deleted > 0) {
+            log.info("Deleted {} sent outbox events older than {}", deleted, retention);
+        }
+    }
+
+    private List<OutboxEvent> claimDueEvents() {
+        return transactionTemplate.execute(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            List<OutboxEvent> events = outboxEventRepository.lockDueEvents(now, batchSize);
+            for (OutboxEvent event : events) {
+                event.setStatus(OutboxStatus.PROCESSING);
+                event.setAttempts(event.getAttempts() + 1);
+                event.setAvailableAt(now.plus(lease));
+                event.setLockedBy(nodeId);
+            }
+            return events;
+        });
+    }
+
+    // Waits for the batch (within the lease) so a slow sink throttles claiming
+    private void deliver(List<OutboxEvent> events) {
+        CompletableFuture<?>[] deliveries = events.stream()
+                .map(this::deliver)
+                .toArray(CompletableFuture[]::new);
+        try {
+            CompletableFuture.allOf(deliveries).get(lease.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            log.warn("Outbox batch of {} events still in flight after {}", events.size(), lease);
+        } catch (ExecutionException e) {
+            // Outcomes are recorded per event
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private CompletableFuture<Void> deliver(OutboxEvent event) {
+        OutboxSink sink = sinks.get(event.getEventType());
+        CompletableFuture<Void> delivery;
+        if (sink == null) {
+            delivery = CompletableFuture.failedFuture(
+                    new IllegalStateException("No outbox sink for event type " + event.getEventType()));
+        } else {
+            try {
+                delivery = sink.deliver(event.getPayload());
+            } catch (RuntimeException e) {
+                delivery = CompletableFuture.failedFuture(e);
+            }
+        }
+        return delivery.handle((ignored, failure) -> {
+            recordOutcome(event, failure);
+            return null;
+        });
+    }
+
+    private void recordOutcome(OutboxEvent event, Throwable failure) {
+        LocalDateTime now = LocalDateTime.now();
+        int updated;
+        if (failure == null) {
+            updated = outboxEventRepository.markProcessed(event.getId(), nodeId, event.getAttempts(),
+                    OutboxStatus.SENT, now, null);
+        } else if (event.getAttempts() >= maxAttempts) {
+            log.error("Outbox event {} ({}) failed permanently after {} attempts: {}", event.getId(),
+                    event.getEventType(), event.getAttempts(), describe(failure));
+            updated = outboxEventRepository.markProcessed(event.getId(), nodeId, event.getAttempts(),
+                    OutboxStatus.FAILED, now, describe(failure));
+        } else {
+            Duration backoff = retryBackoff.multipliedBy(1L << Math.min(event.getAttempts() - 1, 16));
+            log.warn("Outbox event {} ({}) failed, retrying in {}: {}", event.getId(), event.getEventType(),
+                    backoff, describe(failure));
+            updated = outboxEventRepository.scheduleRetry(event.getId(), nodeId, event.getAttempts(),
+                    now.plus(backoff), describe(failure));
+        }
+        if (updated == 0) {
+            log.warn("Outbox event {} ({}) was claimed again after its lease ran out; outcome of attempt {} "
+                    + "discarded", event.getId(), event.getEventType(), event.getAttempts());
+        }
+    }
+
+    // Stored and logged instead of the exception message, which can contain request
+    // URLs and the credentials in them (e.g. the Telegram bot token)
+    static String describe(Throwable failure) {
+        Throwable cause = failure instanceof CompletionException && failure.getCause() != null
+                ? failure.getCause()
+                : failure;
+        for (Throwable t = cause; t != null; t = t.getCause()) {
+            if (t instanceof RestClientResponseException response) {
+                return cause.getClass().getName() + " (HTTP " + response.getStatusCode().value() + ")";
+            }
+        }
+        return cause.getClass().getName();
+    }
+
+    private static String hostName() {
+        try {
+            return InetAddress.getLocalHost().getHostName();
+        } catch (Exception e) {
+            return "unknown-host";
+        }
+    }
+}
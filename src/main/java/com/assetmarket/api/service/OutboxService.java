@@ -0,0 +1,30 @@
+package com.assetmarket.api.service;
+
+import com.assetmarket.api.entity.OutboxEvent;
+import com.assetmarket.api.repository.OutboxEventRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+@Service
+@RequiredArgsConstructor
+public class OutboxService {
+
+    private final OutboxEventRepository outboxEventRepository;
+
+    /**
+     * Records an event in the caller's transaction, so it is delivered if and only
+     * if that transaction commits.
+     */
+    @Transactional
+    public void enqueue(String eventType, Map<String, Object> payload) {
+        outboxEventRepository.save(OutboxEvent.builder()
+                .eventType(eventType)
+                .payload(payload)
+                .availableAt(LocalDateTime.now())
+                .build());
+    }
+}
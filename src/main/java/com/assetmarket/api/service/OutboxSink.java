@@ -0,0 +1,23 @@
+package com.assetmarket.api.service;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Delivers outbox events of one type to an external system (Telegram, email,
+ * webhooks, ...). Implementations are Spring beans and are picked up by
+ * {@link OutboxPoller} automatically.
+ */
+public interface OutboxSink {
+
+    /**
+     * The {@code eventType} this sink handles; unique across sinks.
+     */
+    String eventType();
+
+    /**
+     * Starts delivering the event. The future completes once it has been delivered
+     * and exceptionally if delivery failed, in which case the poller retries it.
+     */
+    CompletableFuture<Void> deliver(Map<String, Object> payload);
+}
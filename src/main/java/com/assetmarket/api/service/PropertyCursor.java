@@ -0,0 +1,35 @@
+package com.assetmarket.api.service;
+
+import com.assetmarket.api.repository.PropertySortColumn;
+import org.springframework.data.domain.Sort;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Position of the last row of a keyset page: the sort key it was ordered by and
+ * that row's (sort value, id). Clients only ever see the encoded form.
+ */
+record PropertyCursor(PropertySortColumn sortColumn, Sort.Direction direction, String value, Long id) {
+
+    private static final char SEPARATOR = '\n';
+
+    String encode() {
+        String raw = sortColumn.name() + SEPARATOR + direction.name() + SEPARATOR + id + SEPARATOR + value;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    static PropertyCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split(String.valueOf(SEPARATOR), 4);
+            return new PropertyCursor(
+                    PropertySortColumn.valueOf(parts[0]),
+                    Sort.Direction.valueOf(parts[1]),
+                    parts[3],
+                    Long.valueOf(parts[2]));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+}
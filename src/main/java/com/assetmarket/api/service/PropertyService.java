@@ -1,15 +1,21 @@
 package com.assetmarket.api.service;
 
+import com.assetmarket.api.dto.CursorPageDTO;
+import com.assetmarket.api.dto.ImageVariantsDTO;
 import com.assetmarket.api.dto.PropertyDTO;
+import com.assetmarket.api.dto.PropertySummaryDTO;
 import com.assetmarket.api.entity.Property;
-import com.assetmarket.api.repository.PropertyRepository;
 import com.assetmarket.api.repository.CategoryRepository;
-import com.assetmarket.api.entity.Category;
+import com.assetmarket.api.repository.PropertySortColumn;
+import com.assetmarket.api.repository.PropertyRepository;
+import com.assetmarket.api.repository.PropertySearchCriteria;
+import com.assetmarket.api.repository.PropertySummary;
 import com.assetmarket.api.entity.PropertyStatus;
 import com.assetmarket.api.security.TenantContext;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -17,28 +23,54 @@ import org.springframework.transaction.annotation.Transactional;
 @lombok.extern.slf4j.Slf4j
 public class PropertyService {
 
+    // Cursor pages are fetched in one query without a count, so their size is capped
+    static final int MAX_CURSOR_PAGE_SIZE = 100;
+
     @Autowired
     private PropertyRepository propertyRepository;
 
+    @Autowired
+    private CategoryCache categoryCache;
+
     @Autowired
     private CategoryRepository categoryRepository;
 
     @Autowired
-    private com.assetmarket.api.repository.ReviewRepository reviewRepository;
+    private ImageVariantUrls imageVariantUrls;
 
     @Transactional(readOnly = true)
-    public Page<PropertyDTO> getAllProperties(String category, Pageable pageable) {
-        Page<Property> properties;
+    public Page<PropertySummaryDTO> getAllProperties(String category, Pageable pageable) {
+        Long categoryId = null;
         if (category != null && !category.isEmpty()) {
-            properties = propertyRepository.findByCategoryName(category, pageable);
-        } else {
-            properties = propertyRepository.findAll(pageable);
+            CategoryCache.Entry entry = categoryCache.find(category);
+            if (entry == null) {
+                return Page.empty(pageable);
+            }
+            categoryId = entry.id();
         }
-        return properties.map(this::convertToDTO);
+        PropertySearchCriteria criteria = PropertySearchCriteria.builder()
+                .tenantId(TenantContext.getCurrentTenant())
+                .categoryId(categoryId)
+                .build();
+        return convertToSummaryPage(propertyRepository.search(criteria, pageable));
+    }
+
+    /**
+     * Lists the current tenant's properties the user has favorited
+     * ({@code favoritedBy}) or sent messages about ({@code inquiredBy}).
+     */
+    @Transactional(readOnly = true)
+    public Page<PropertySummaryDTO> getPropertiesOfUser(Long favoritedBy, Long inquiredBy, Pageable pageable) {
+        PropertySearchCriteria criteria = PropertySearchCriteria.builder()
+                .tenantId(TenantContext.getCurrentTenant())
+                .favoritedBy(favoritedBy)
+                .inquiredBy(inquiredBy)
+                .build();
+        return convertToSummaryPage(propertyRepository.search(criteria, pageable));
     }
 
     @Transactional(readOnly = true)
-    public Page<PropertyDTO> searchProperties(
+    public Page<PropertySummaryDTO> searchProperties(
             java.math.BigDecimal minPrice,
             java.math.BigDecimal maxPrice,
             String location,
@@ -47,61 +79,118 @@ public class PropertyService {
             java.util.Map<String, String> attributes,
             Pageable pageable) {
 
-        Long categoryId = null;
-        Category category = null;
-        if (categoryName != null && !categoryName.isEmpty()) {
-            category = categoryRepository.findByName(categoryName).orElse(null);
-            if (category != null) {
-                categoryId = category.getId();
-            } else {
-                log.warn("Search attempted with non-existent category: {}", categoryName);
-                // We could throw here, but let's just proceed without category filter
+        PropertySearchCriteria criteria = buildSearchCriteria(
+                minPrice, maxPrice, location, categoryName, status, attributes);
+
+        return convertToSummaryPage(propertyRepository.search(criteria, pageable));
+    }
+
+    /**
+     * Keyset variant of {@link #searchProperties}: returns the page that follows
+     * {@code cursor} (or the first page when it is null) using a seek predicate,
+     * without counting the total number of matches.
+     */
+    @Transactional(readOnly = true)
+    public CursorPageDTO<PropertySummaryDTO> scrollProperties(
+            java.math.BigDecimal minPrice,
+            java.math.BigDecimal maxPrice,
+            String location,
+            String categoryName,
+            PropertyStatus status,
+            java.util.Map<String, String> attributes,
+            String sortBy,
+            Sort.Direction direction,
+            String cursor,
+            int size) {
+
+        if (size < 1) {
+            throw new IllegalArgumentException("Page size must be at least 1");
+        }
+        size = Math.min(size, MAX_CURSOR_PAGE_SIZE);
+
+        PropertySortColumn sortColumn = PropertySortColumn.fromProperty(sortBy)
+                .orElseThrow(() -> new IllegalArgumentException("Cursor pagination cannot sort by: " + sortBy));
+
+        PropertyCursor after = null;
+        if (cursor != null && !cursor.isEmpty()) {
+            after = PropertyCursor.decode(cursor);
+            if (after.sortColumn() != sortColumn || after.direction() != direction) {
+                throw new IllegalArgumentException("Cursor does not match the requested sort order");
             }
         }
 
-        String statusStr = status != null ? status.name() : null;
-        String tenantId = TenantContext.getCurrentTenant();
-
-        // Translate sort properties for native query
-        org.springframework.data.domain.Sort translatedSort = org.springframework.data.domain.Sort.by(
-                pageable.getSort().stream()
-                        .map(order -> {
-                            String property = order.getProperty();
-                            if (property.equals("createdAt")) {
-                                return new org.springframework.data.domain.Sort.Order(order.getDirection(),
-                                        "created_at");
-                            }
-                            if (property.equals("updatedAt")) {
-                                return new org.springframework.data.domain.Sort.Order(order.getDirection(),
-                                        "updated_at");
-                            }
-                            return order;
-                        })
-                        .toList());
+        PropertySearchCriteria criteria = buildSearchCriteria(
+                minPrice, maxPrice, location, categoryName, status, attributes);
+
+        // Fetch one extra row to learn whether another page exists
+        java.util.List<PropertySummary> rows = propertyRepository.searchAfter(
+                criteria, sortColumn, direction,
+                after != null ? after.value() : null,
+                after != null ? after.id() : null,
+                size + 1);
+
+        boolean hasNext = rows.size() > size;
+        java.util.List<PropertySummary> pageRows = hasNext ? rows.subList(0, size) : rows;
+
+        String nextCursor = null;
+        if (hasNext) {
+            PropertySummary last = pageRows.get(pageRows.size() - 1);
+            nextCursor = new PropertyCursor(sortColumn, direction, sortColumn.valueOf(last), last.getId()).encode();
+        }
+
+        return CursorPageDTO.<PropertySummaryDTO>builder()
+                .content(pageRows.stream().map(this::convertToSummaryDTO).toList())
+                .size(size)
+                .nextCursor(nextCursor)
+                .hasNext(hasNext)
+                .build();
+    }
+
+    private PropertySearchCriteria buildSearchCriteria(
+            java.math.BigDecimal minPrice,
+            java.math.BigDecimal maxPrice,
+            String location,
+            String categoryName,
+            PropertyStatus status,
+            java.util.Map<String, String> attributes) {
 
-        Pageable nativePageable = org.springframework.data.domain.PageRequest.of(
-                pageable.getPageNumber(),
-                pageable.getPageSize(),
-                translatedSort);
+        CategoryCache.Entry category = resolveSearchCategory(categoryName);
+        return PropertySearchCriteria.builder()
+                .tenantId(TenantContext.getCurrentTenant())
+                .minPrice(minPrice)
+                .maxPrice(maxPrice)
+                .location(location)
+                .categoryId(category != null ? category.id() : null)
+                .status(status != null ? status.name() : null)
+                .attributesJson(buildAttributeFilter(attributes, category))
+                .build();
+    }
+
+    private CategoryCache.Entry resolveSearchCategory(String categoryName) {
+        if (categoryName == null || categoryName.isEmpty()) {
+            return null;
+        }
+        CategoryCache.Entry category = categoryCache.find(categoryName);
+        if (category == null) {
+            log.warn("Search attempted with non-existent category: {}", categoryName);
+            // We could throw here, but let's just proceed without category filter
+        }
+        return category;
+    }
 
+    private String buildAttributeFilter(java.util.Map<String, String> attributes, CategoryCache.Entry category) {
         String attributesJson = null;
         if (attributes != null && !attributes.isEmpty()) {
             try {
                 java.util.Map<String, Object> typedAttributes = new java.util.HashMap<>();
-                if (category != null && category.getAttributeSchema() != null) {
+                if (category != null && !category.schema().isEmpty()) {
                     for (java.util.Map.Entry<String, String> entry : attributes.entrySet()) {
                         String key = entry.getKey();
                         String val = entry.getValue();
 
-                        // Find attribute definition in schema
-                        java.util.Optional<java.util.Map<String, Object>> attrSchema = category.getAttributeSchema()
-                                .stream()
-                                .filter(s -> key.equals(s.get("name")))
-                                .findFirst();
-
-                        if (attrSchema.isPresent()) {
-                            String type = (String) attrSchema.get().get("type");
-                            if ("number".equals(type)) {
+                        CompiledAttributeSchema.Field field = category.schema().field(key);
+                        if (field != null) {
+                            if (field.type() == CompiledAttributeSchema.FieldType.NUMBER) {
                                 try {
                                     if (val.contains(".")) {
                                         typedAttributes.put(key, Double.parseDouble(val));
@@ -111,7 +200,7 @@ public class PropertyService {
                                 } catch (NumberFormatException e) {
                                     typedAttributes.put(key, val);
                                 }
-                            } else if ("boolean".equals(type)) {
+                            } else if (field.type() == CompiledAttributeSchema.FieldType.BOOLEAN) {
                                 typedAttributes.put(key, Boolean.parseBoolean(val));
                             } else {
                                 typedAttributes.put(key, val);
@@ -129,27 +218,22 @@ public class PropertyService {
             }
         }
 
-        return propertyRepository.findWithFilters(
-                minPrice, maxPrice, location, categoryId, statusStr, attributesJson, tenantId, nativePageable)
-                .map(this::convertToDTO);
+        return attributesJson;
     }
 
     @Transactional
     public PropertyDTO createProperty(PropertyDTO propertyDTO) {
-        Category category = categoryRepository.findByName(propertyDTO.getCategoryName())
-                .orElseThrow(
-                        () -> new IllegalArgumentException("Category not found: " + propertyDTO.getCategoryName()));
+        CategoryCache.Entry category = findCategory(propertyDTO.getCategoryName());
 
         // Sanitize and validate attributes
-        java.util.Map<String, Object> sanitizedAttributes = validateAttributes(propertyDTO.getAttributes(),
-                category.getAttributeSchema());
+        java.util.Map<String, Object> sanitizedAttributes = category.schema().validate(propertyDTO.getAttributes());
 
         Property property = Property.builder()
                 .title(propertyDTO.getTitle())
                 .description(propertyDTO.getDescription())
                 .price(propertyDTO.getPrice())
                 .location(propertyDTO.getLocation())
-                .category(category)
+                .category(categoryRepository.getReferenceById(category.id()))
                 .status(propertyDTO.getStatus() != null ? propertyDTO.getStatus() : PropertyStatus.AVAILABLE)
                 .attributes(sanitizedAttributes)
                 .imageUrls(
@@ -161,53 +245,37 @@ public class PropertyService {
         return convertToDTO(savedProperty);
     }
 
-    private java.util.Map<String, Object> validateAttributes(java.util.Map<String, Object> attributes,
-            java.util.List<java.util.Map<String, Object>> schema) {
-        if (schema == null || schema.isEmpty()) {
-            return new java.util.HashMap<>();
-        }
-
-        java.util.Map<String, Object> inputAttributes = attributes != null ? attributes : new java.util.HashMap<>();
-        java.util.Map<String, Object> sanitizedAttributes = new java.util.HashMap<>();
-
-        for (java.util.Map<String, Object> fieldSchema : schema) {
-            String name = (String) fieldSchema.get("name");
-            String type = (String) fieldSchema.get("type");
-            boolean required = fieldSchema.get("required") != null && (boolean) fieldSchema.get("required");
-
-            Object value = inputAttributes.get(name);
-
-            if (required && value == null) {
-                throw new IllegalArgumentException("Metadata field '" + name + "' is required for this category.");
-            }
-
-            if (value != null) {
-                validateType(name, value, type);
-                sanitizedAttributes.put(name, value);
-            }
+    private CategoryCache.Entry findCategory(String categoryName) {
+        CategoryCache.Entry category = categoryCache.find(categoryName);
+        if (category == null) {
+            throw new IllegalArgumentException("Category not found: " + categoryName);
         }
+        return category;
+    }
 
-        return sanitizedAttributes;
+    /**
+     * Converts a page of list rows. Ratings come from the denormalized summary
+     * on each row, so no per-row aggregation is needed.
+     */
+    private Page<PropertySummaryDTO> convertToSummaryPage(Page<PropertySummary> properties) {
+        return properties.map(this::convertToSummaryDTO);
     }
 
-    private void validateType(String name, Object value, String expectedType) {
-        switch (expectedType.toLowerCase()) {
-            case "number" -> {
-                if (!(value instanceof Number)) {
-                    throw new IllegalArgumentException("Field '" + name + "' must be a number.");
-                }
-            }
-            case "boolean" -> {
-                if (!(value instanceof Boolean)) {
-                    throw new IllegalArgumentException("Field '" + name + "' must be a boolean.");
-                }
-            }
-            case "string" -> {
-                if (!(value instanceof String)) {
-                    throw new IllegalArgumentException("Field '" + name + "' must be a string.");
-                }
-            }
-        }
+    private PropertySummaryDTO convertToSummaryDTO(PropertySummary property) {
+        return PropertySummaryDTO.builder()
+                .id(property.getId())
+                .title(property.getTitle())
+                .price(property.getPrice())
+                .location(property.getLocation())
+                .categoryName(property.getCategoryName())
+                .attributes(property.getAttributes())
+                .status(property.getStatus())
+                .coverImage(property.getCoverImage() != null ? imageVariantUrls.of(property.getCoverImage()) : null)
+                .averageRating(property.getAverageRating())
+                .reviewCount(property.getReviewCount())
+                .createdAt(property.getCreatedAt())
+                .updatedAt(property.getUpdatedAt())
+                .build();
     }
 
     public PropertyDTO convertToDTO(Property property) {
@@ -221,16 +289,28 @@ public class PropertyService {
         dto.setUpdatedAt(property.getUpdatedAt());
         dto.setStatus(property.getStatus());
         dto.setImageUrls(property.getImageUrls());
+        dto.setImages(toImageVariants(property.getImageUrls()));
         dto.setCategoryName(property.getCategory() != null ? property.getCategory().getName() : null);
         dto.setAttributes(property.getAttributes());
 
         // Attach ratings
-        dto.setAverageRating(reviewRepository.getAverageRatingForProperty(property.getId()));
-        dto.setReviewCount(reviewRepository.countByPropertyId(property.getId()));
+        dto.setAverageRating(property.getAverageRating());
+        dto.setReviewCount(property.getReviewCount());
 
         return dto;
     }
 
+    private java.util.List<ImageVariantsDTO> toImageVariants(java.util.List<String> imageUrls) {
+        if (imageUrls == null) {
+            return null;
+        }
+        java.util.List<ImageVariantsDTO> images = new java.util.ArrayList<>(imageUrls.size());
+        for (String url : imageUrls) {
+            images.add(imageVariantUrls.of(url));
+        }
+        return images;
+    }
+
     @Transactional(readOnly = true)
     public PropertyDTO getPropertyById(Long id) {
         Property property = propertyRepository.findById(id)
@@ -243,6 +323,21 @@ public class PropertyService {
         return convertToDTO(property);
     }
 
+    /**
+     * Appends already stored images to a property's gallery with a single UPDATE that
+     * also performs the tenant check; other fields and the existing images are not
+     * read or rewritten.
+     */
+    @Transactional
+    public PropertyDTO addImages(Long id, java.util.List<String> imageUrls) {
+        int updated = propertyRepository.appendImageUrls(id, TenantContext.getCurrentTenant(),
+                imageUrls.toArray(String[]::new), java.time.LocalDateTime.now());
+        if (updated == 0) {
+            throw new IllegalArgumentException("Property not found in this tenant");
+        }
+        return getPropertyById(id);
+    }
+
     public void deleteProperty(Long id) {
         Property property = propertyRepository.findById(id)
                 .orElseThrow(() -> new IllegalArgumentException("Property not found"));
@@ -279,17 +374,15 @@ public class PropertyService {
         }
 
         // Handle Category Change (if provided and different)
-        Category category = property.getCategory();
-        if (propertyDTO.getCategoryName() != null && !propertyDTO.getCategoryName().equals(category.getName())) {
-            category = categoryRepository.findByName(propertyDTO.getCategoryName())
-                    .orElseThrow(
-                            () -> new IllegalArgumentException("Category not found: " + propertyDTO.getCategoryName()));
-            property.setCategory(category);
+        CategoryCache.Entry category = findCategory(propertyDTO.getCategoryName() != null
+                ? propertyDTO.getCategoryName()
+                : property.getCategory().getName());
+        if (!category.id().equals(property.getCategory().getId())) {
+            property.setCategory(categoryRepository.getReferenceById(category.id()));
         }
 
         // Sanitize and validate attributes
-        java.util.Map<String, Object> sanitizedAttributes = validateAttributes(propertyDTO.getAttributes(),
-                category.getAttributeSchema());
+        java.util.Map<String, Object> sanitizedAttributes = category.schema().validate(propertyDTO.getAttributes());
         property.setAttributes(sanitizedAttributes);
 
         Property savedProperty = propertyRepository.save(property);
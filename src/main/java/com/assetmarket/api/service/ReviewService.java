@@ -3,12 +3,11 @@ package com.assetmarket.api.service;
 import com.assetmarket.api.dto.ReviewDTO;
 import com.assetmarket.api.entity.*;
 import com.assetmarket.api.repository.*;
+import com.assetmarket.api.security.CurrentUserResolver;
 import com.assetmarket.api.security.TenantContext;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
-import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -18,13 +17,13 @@ public class ReviewService {
 
     private final ReviewRepository reviewRepository;
     private final PropertyRepository propertyRepository;
-    private final UserRepository userRepository;
+    private final CurrentUserResolver currentUserResolver;
     private final MessageRepository messageRepository;
     private final ViewingRequestRepository viewingRequestRepository;
 
     @Transactional
     public ReviewDTO createReview(Long propertyId, Integer rating, String comment) {
-        User user = getCurrentUser();
+        User user = currentUserResolver.getUser();
         Property property = propertyRepository.findById(propertyId)
                 .orElseThrow(() -> new IllegalArgumentException("Property not found"));
 
@@ -39,9 +38,7 @@ public class ReviewService {
 
         // 2. Verified Interaction Check
         boolean hasInquiry = messageRepository.existsByPropertyAndSender(property, user);
-        boolean hasViewing = viewingRequestRepository
-                .findByUserAndTenantId(user, property.getTenantId(), Pageable.unpaged())
-                .stream().anyMatch(vr -> vr.getProperty().getId().equals(propertyId));
+        boolean hasViewing = viewingRequestRepository.existsByPropertyIdAndUserId(propertyId, user.getId());
 
         if (!hasInquiry && !hasViewing) {
             throw new IllegalArgumentException(
@@ -56,16 +53,33 @@ public class ReviewService {
                 .tenantId(TenantContext.getCurrentTenant())
                 .build();
 
-        return convertToDTO(reviewRepository.save(review));
+        Review savedReview = reviewRepository.save(review);
+
+        // Keep the denormalized rating summary in step within the same transaction
+        propertyRepository.addRatingToSummary(propertyId, rating);
+
+        return convertToDTO(savedReview);
+    }
+
+    /**
+     * Recomputes the rating summary of every property in the current tenant from
+     * the reviews table, e.g. after bulk imports or manual corrections.
+     *
+     * @return the number of properties updated
+     */
+    @Transactional
+    public int rebuildRatingSummaries() {
+        return propertyRepository.rebuildRatingSummaries(TenantContext.getCurrentTenant());
     }
 
     @Transactional(readOnly = true)
     public Page<ReviewDTO> getReviewsForProperty(Long propertyId, Pageable pageable) {
-        Property property = propertyRepository.findById(propertyId)
-                .orElseThrow(() -> new IllegalArgumentException("Property not found"));
+        if (!propertyRepository.existsById(propertyId)) {
+            throw new IllegalArgumentException("Property not found");
+        }
 
-        return reviewRepository.findByPropertyAndTenantId(property, TenantContext.getCurrentTenant(), pageable)
-                .map(this::convertToDTO);
+        return reviewRepository.findDTOsByPropertyIdAndTenantId(propertyId, TenantContext.getCurrentTenant(),
+                pageable);
     }
 
     private ReviewDTO convertToDTO(Review review) {
@@ -78,17 +92,4 @@ public class ReviewService {
                 .createdAt(review.getCreatedAt())
                 .build();
     }
-
-    private User getCurrentUser() {
-        Object principal = SecurityContextHolder.getContext().getAuthentication().getPrincipal();
-        String username;
-        if (principal instanceof UserDetails) {
-            username = ((UserDetails) principal).getUsername();
-        } else {
-            username = principal.toString();
-        }
-
-        return userRepository.findByUsernameAndTenantId(username, TenantContext.getCurrentTenant())
-                .orElseThrow(() -> new IllegalStateException("User context not found"));
-    }
 }
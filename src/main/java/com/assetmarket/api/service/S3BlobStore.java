@@ -0,0 +1,197 @@
+package com.assetmarket.api.service;
+
+import com.assetmarket.api.config.OutboundHttpProperties;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
+import software.amazon.awssdk.auth.credentials.AwsCredentialsProvider;
+import software.amazon.awssdk.auth.credentials.DefaultCredentialsProvider;
+import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.core.client.config.ClientOverrideConfiguration;
+import software.amazon.awssdk.core.sync.RequestBody;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.S3Configuration;
+import software.amazon.awssdk.services.s3.model.GetObjectRequest;
+import software.amazon.awssdk.services.s3.model.HeadObjectRequest;
+import software.amazon.awssdk.services.s3.model.NoSuchKeyException;
+import software.amazon.awssdk.services.s3.model.PutObjectRequest;
+import software.amazon.awssdk.services.s3.model.S3Exception;
+import software.amazon.awssdk.services.s3.presigner.S3Presigner;
+import software.amazon.awssdk.services.s3.presigner.model.PresignedPutObjectRequest;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.Optional;
+
+/**
+ * Stores files in an S3-compatible bucket (AWS S3, MinIO, ...), so every node sees
+ * the same files and clients load them from the bucket or a CDN in front of it.
+ * <p>
+ * Clients can also upload straight to the bucket with a presigned PUT. The URL signs
+ * the object's SHA-256, size and type, so the bucket rejects any other content.
+ * <p>
+ * Calls are bounded by the {@code outbound.http.clients.s3} timeouts: each attempt
+ * by the read timeout, and a call with its retries by three times that.
+ */
+@Component
+@ConditionalOnProperty(name = "app.storage.type", havingValue = "s3")
+public class S3BlobStore implements BlobStore {
+
+    private final S3Client s3;
+    private final S3Presigner presigner;
+    private final String bucket;
+    private final String publicUrl;
+
+    public S3BlobStore(@Value("${app.storage.s3.bucket}") String bucket,
+            @Value("${app.storage.s3.region:us-east-1}") String region,
+            @Value("${app.storage.s3.endpoint:}") String endpoint,
+            @Value("${app.storage.s3.path-style:false}") boolean pathStyle,
+            @Value("${app.storage.s3.access-key:}") String accessKey,
+            @Value("${app.storage.s3.secret-key:}") String secretKey,
+            @Value("${app.storage.s3.public-url:}") String publicUrl,
+            OutboundHttpProperties outboundHttpProperties) {
+        this.bucket = bucket;
+
+        AwsCredentialsProvider credentials = StringUtils.hasText(accessKey)
+                ? StaticCredentialsProvider.create(AwsBasicCredentials.create(accessKey, secretKey))
+                : DefaultCredentialsProvider.create();
+        S3Configuration serviceConfiguration = S3Configuration.builder()
+                .pathStyleAccessEnabled(pathStyle)
+                .build();
+
+        Duration attemptTimeout = outboundHttpProperties.client("s3").getReadTimeout();
+        var clientBuilder = S3Client.builder()
+                .region(Region.of(region))
+                .credentialsProvider(credentials)
+                .serviceConfiguration(serviceConfiguration)
+                .overrideConfiguration(ClientOverrideConfiguration.builder()
+                        .apiCallAttemptTimeout(attemptTimeout)
+                        .apiCallTimeout(attemptTimeout.multipliedBy(3))
+                        .build());
+        var presignerBuilder = S3Presigner.builder()
+                .region(Region.of(region))
+                .credentialsProvider(credentials)
+                .serviceConfiguration(serviceConfiguration);
+        if (StringUtils.hasText(endpoint)) {
+            clientBuilder.endpointOverride(URI.create(endpoint));
+            presignerBuilder.endpointOverride(URI.create(endpoint));
+        }
+        this.s3 = clientBuilder.build();
+        this.presigner = presignerBuilder.build();
+
+        String baseUrl = StringUtils.hasText(publicUrl) ? publicUrl
+                : StringUtils.hasText(endpoint) ? endpoint + "/" + bucket
+                        : "https://" + bucket + ".s3." + region + ".amazonaws.com";
+        this.publicUrl = baseUrl.endsWith("/") ? baseUrl : baseUrl + "/";
+    }
+
+    @PreDestroy
+    public void close() {
+        s3.close();
+        presigner.close();
+    }
+
+    @Override
+    public Path newTempFile() throws IOException {
+        return Files.createTempFile("upload-", ".part");
+    }
+
+    @Override
+    public void put(String key, Path file, String contentType) throws IOException {
+        try {
+            if (!exists(key)) {
+                s3.putObject(PutObjectRequest.builder()
+                        .bucket(bucket)
+                        .key(key)
+                        .contentType(contentType)
+                        .build(), RequestBody.fromFile(file));
+            }
+        } catch (S3Exception e) {
+            throw new IOException("Could not store " + key, e);
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Override
+    public boolean exists(String key) throws IOException {
+        try {
+            s3.headObject(HeadObjectRequest.builder().bucket(bucket).key(key).build());
+            return true;
+        } catch (NoSuchKeyException e) {
+            return false;
+        } catch (S3Exception e) {
+            if (e.statusCode() == 404) {
+                return false;
+            }
+            throw new IOException("Could not look up " + key, e);
+        }
+    }
+
+    @Override
+    public InputStream open(String key) throws IOException {
+        try {
+            return s3.getObject(GetObjectRequest.builder().bucket(bucket).key(key).build());
+        } catch (S3Exception e) {
+            throw new IOException("Could not read " + key, e);
+        }
+    }
+
+    @Override
+    public byte[] readPrefix(String key, int length) throws IOException {
+        try {
+            return s3.getObjectAsBytes(GetObjectRequest.builder()
+                    .bucket(bucket)
+                    .key(key)
+                    .range("bytes=0-" + (length - 1))
+                    .build()).asByteArray();
+        } catch (S3Exception e) {
+            throw new IOException("Could not read " + key, e);
+        }
+    }
+
+    @Override
+    public void delete(String key) throws IOException {
+        try {
+            s3.deleteObject(builder -> builder.bucket(bucket).key(key));
+        } catch (S3Exception e) {
+            throw new IOException("Could not delete " + key, e);
+        }
+    }
+
+    @Override
+    public String url(String key) {
+        return publicUrl + key;
+    }
+
+    @Override
+    public String keyOf(String url) {
+        return url != null && url.startsWith(publicUrl) ? url.substring(publicUrl.length()) : null;
+    }
+
+    @Override
+    public Optional<PresignedUpload> presignUpload(String key, String contentType, long size, String sha256,
+            Duration ttl) {
+        PresignedPutObjectRequest presigned = presigner.presignPutObject(request -> request
+                .signatureDuration(ttl)
+                .putObjectRequest(PutObjectRequest.builder()
+                        .bucket(bucket)
+                        .key(key)
+                        .contentType(contentType)
+                        .contentLength(size)
+                        .checksumSHA256(Base64.getEncoder().encodeToString(HexFormat.of().parseHex(sha256)))
+                        .build()));
+        return Optional.of(new PresignedUpload(presigned.url().toString(), presigned.httpRequest().method().name(),
+                presigned.signedHeaders(), presigned.expiration()));
+    }
+}
@@ -0,0 +1,91 @@
+package com.assetmarket.api.service;
+
+import com.assetmarket.api.config.OutboundHttpClients;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Blocking calls to the Telegram Bot API. Failures are thrown to the caller, which
+ * decides whether to retry; see {@link TelegramNotificationDispatcher}.
+ */
+@Slf4j
+@Component
+public class TelegramClient {
+
+    // Expanded per call so the token never appears in the request metrics' uri tag
+    private static final String SEND_MESSAGE_URI = "/bot{token}/sendMessage";
+
+    private final RestTemplate restTemplate;
+    private final ObjectMapper objectMapper;
+    private final String botToken;
+
+    public TelegramClient(OutboundHttpClients outboundHttpClients, ObjectMapper objectMapper,
+            @Value("${telegram.bot.api-url:https://api.telegram.org}") String apiUrl,
+            @Value("${telegram.bot.token}") String botToken) {
+        this.restTemplate = outboundHttpClients.restTemplate("telegram", apiUrl);
+        this.objectMapper = objectMapper;
+        this.botToken = botToken;
+    }
+
+    public void sendMessage(TelegramNotification notification) {
+        Map<String, Object> body = new HashMap<>();
+        body.put("chat_id", notification.chatId());
+        body.put("text", notification.text());
+        body.put("parse_mode", "Markdown");
+        if (notification.hasButton()) {
+            Map<String, Object> button = Map.of(
+                    "text", notification.buttonText(),
+                    "web_app", Map.of("url", notification.buttonUrl()));
+            body.put("reply_markup", Map.of("inline_keyboard", List.of(List.of(button))));
+        }
+
+        try {
+            restTemplate.postForObject(SEND_MESSAGE_URI, body, String.class, botToken);
+        } catch (HttpClientErrorException.TooManyRequests e) {
+            throw new RateLimitedException(retryAfter(e), e);
+        } catch (ResourceAccessException e) {
+            // Its message contains the expanded URL, i.e. the bot token
+            throw new ResourceAccessException("I/O error on Telegram sendMessage",
+                    e.getCause() instanceof IOException io ? io : null);
+        }
+    }
+
+    // Telegram reports the required wait in parameters.retry_after (seconds)
+    private Duration retryAfter(HttpClientErrorException e) {
+        try {
+            JsonNode retryAfter = objectMapper.readTree(e.getResponseBodyAsString()).path("parameters")
+                    .path("retry_after");
+            if (retryAfter.canConvertToLong()) {
+                return Duration.ofSeconds(retryAfter.asLong());
+            }
+        } catch (Exception parseFailure) {
+            log.debug("Unreadable Telegram 429 body: {}", e.getResponseBodyAsString());
+        }
+        return Duration.ZERO;
+    }
+
+    public static class RateLimitedException extends RuntimeException {
+        private final Duration retryAfter;
+
+        RateLimitedException(Duration retryAfter, Throwable cause) {
+            super("Telegram rate limit hit, retry after " + retryAfter, cause);
+            this.retryAfter = retryAfter;
+        }
+
+        public Duration getRetryAfter() {
+            return retryAfter;
+        }
+    }
+}
@@ -0,0 +1,163 @@
+package com.assetmarket.api.service;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.IOException;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Validates the {@code initData} a Telegram Mini App sends on launch, as described in
+ * the Bot API docs: the HMAC-SHA256 of the sorted {@code key=value} lines must equal
+ * {@code hash}, keyed with {@code HMAC-SHA256("WebAppData", botToken)}.
+ * <p>
+ * The query string is decoded once and the signature, {@code auth_date} and the user
+ * id are all checked from that single pass. The derived key never changes, so it is
+ * computed at startup, and each thread reuses its own {@link Mac}.
+ */
+@Slf4j
+@Component
+public class TelegramInitDataValidator {
+
+    private static final String HMAC_SHA256 = "HmacSHA256";
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    private final ThreadLocal<Mac> mac;
+    private final long maxAgeSeconds;
+
+    /**
+     * The parts of a valid initData the application uses.
+     */
+    public record InitData(String telegramId, Instant authDate) {
+    }
+
+    public TelegramInitDataValidator(@Value("${telegram.bot.token}") String botToken,
+            @Value("${telegram.init-data.max-age:24h}") Duration maxAge) {
+        SecretKeySpec secretKey = new SecretKeySpec(
+                hmac(new SecretKeySpec("WebAppData".getBytes(StandardCharsets.UTF_8), HMAC_SHA256),
+                        botToken.getBytes(StandardCharsets.UTF_8)),
+                HMAC_SHA256);
+        this.mac = ThreadLocal.withInitial(() -> newMac(secretKey));
+        this.maxAgeSeconds = maxAge.toSeconds();
+    }
+
+    /**
+     * @return the validated data, or null if the signature is wrong, it is older than
+     *         {@code telegram.init-data.max-age} or it has no user
+     */
+    public InitData validate(String initData) {
+        if (initData == null || initData.isEmpty()) {
+            return null;
+        }
+        try {
+            String hash = null;
+            // Sorted by key, as the data-check-string requires
+            Map<String, String> fields = new TreeMap<>();
+            int start = 0;
+            while (start <= initData.length()) {
+                int end = initData.indexOf('&', start);
+                if (end < 0) {
+                    end = initData.length();
+                }
+                int separator = initData.indexOf('=', start);
+                if (separator > start && separator < end) {
+                    String key = initData.substring(start, separator);
+                    String value = decode(initData.substring(separator + 1, end));
+                    if (key.equals("hash")) {
+                        hash = value;
+                    } else {
+                        fields.putIfAbsent(key, value);
+                    }
+                }
+                start = end + 1;
+            }
+            if (hash == null || !signatureMatches(fields, hash) || !isFresh(fields.get("auth_date"))) {
+                return null;
+            }
+
+            String telegramId = userId(fields.get("user"));
+            if (telegramId == null) {
+                return null;
+            }
+            return new InitData(telegramId, Instant.ofEpochSecond(Long.parseLong(fields.get("auth_date"))));
+        } catch (IllegalArgumentException | IOException e) {
+            log.warn("Malformed Telegram initData: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private boolean signatureMatches(Map<String, String> fields, String hash) {
+        StringBuilder dataCheckString = new StringBuilder(256);
+        for (Map.Entry<String, String> field : fields.entrySet()) {
+            if (dataCheckString.length() > 0) {
+                dataCheckString.append('\n');
+            }
+            dataCheckString.append(field.getKey()).append('=').append(field.getValue());
+        }
+        byte[] expected = mac.get().doFinal(dataCheckString.toString().getBytes(StandardCharsets.UTF_8));
+        return MessageDigest.isEqual(expected, HexFormat.of().parseHex(hash));
+    }
+
+    private boolean isFresh(String authDate) {
+        if (authDate == null) {
+            return false;
+        }
+        long age = Instant.now().getEpochSecond() - Long.parseLong(authDate);
+        return age <= maxAgeSeconds;
+    }
+
+    // Reads the top-level "id" of the user object without building a tree
+    private static String userId(String userJson) throws IOException {
+        if (userJson == null) {
+            return null;
+        }
+        try (JsonParser parser = JSON_FACTORY.createParser(userJson)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                return null;
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String name = parser.currentName();
+                JsonToken value = parser.nextToken();
+                if (name.equals("id") && value == JsonToken.VALUE_NUMBER_INT) {
+                    return parser.getText();
+                }
+                parser.skipChildren();
+            }
+            return null;
+        }
+    }
+
+    private static String decode(String value) {
+        return value.indexOf('%') < 0 && value.indexOf('+') < 0
+                ? value
+                : URLDecoder.decode(value, StandardCharsets.UTF_8);
+    }
+
+    private static byte[] hmac(SecretKeySpec key, byte[] data) {
+        return newMac(key).doFinal(data);
+    }
+
+    private static Mac newMac(SecretKeySpec key) {
+        try {
+            Mac mac = Mac.getInstance(HMAC_SHA256);
+            mac.init(key);
+            return mac;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HmacSHA256 unavailable", e);
+        }
+    }
+}
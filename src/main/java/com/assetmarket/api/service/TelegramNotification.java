@@ -0,0 +1,21 @@
+package com.assetmarket.api.service;
+
+/**
+ * A bot message to one chat, optionally with a single inline button that opens the
+ * Mini App at {@code buttonUrl}. Stored in the outbox by {@link TelegramService} and
+ * delivered by the {@link TelegramNotificationDispatcher}.
+ */
+public record TelegramNotification(String chatId, String text, String buttonText, String buttonUrl) {
+
+    public static TelegramNotification message(String chatId, String text) {
+        return new TelegramNotification(chatId, text, null, null);
+    }
+
+    public static TelegramNotification withAppButton(String chatId, String text, String buttonText, String appUrl) {
+        return new TelegramNotification(chatId, text, buttonText, appUrl);
+    }
+
+    public boolean hasButton() {
+        return buttonText != null && buttonUrl != null;
+    }
+}
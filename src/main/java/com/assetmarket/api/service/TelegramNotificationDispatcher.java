@@ -0,0 +1,161 @@
+package com.assetmarket.api.service;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpClientErrorException;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Delivers {@link TelegramNotification}s off the request thread; fed by
+ * {@link TelegramOutboxSink} once the originating transaction has committed.
+ * <p>
+ * Each chat has its own lane: its messages go out in order, at most one per
+ * {@code per-chat-interval}, while different chats are sent in parallel on a
+ * bounded pool. A global limit keeps the bot under Telegram's overall rate, and
+ * a 429 holds back every chat until Telegram's {@code retry_after} has passed.
+ * <p>
+ * Each message is attempted once by default: the {@link OutboxPoller} retries
+ * failed events, and retrying here as well would multiply the attempts and
+ * stretch a batch past its lease. With {@code max-attempts} above 1, failed sends
+ * are retried with exponential backoff; client errors other than 429 never are.
+ */
+@Slf4j
+@Component
+public class TelegramNotificationDispatcher {
+
+    private final TelegramClient telegramClient;
+    private final ScheduledExecutorService executor;
+    private final KeyedSerialExecutor<Delivery> lanes;
+
+    private final long perChatIntervalNanos;
+    private final long globalIntervalNanos;
+    private final int maxAttempts;
+    private final long initialBackoffNanos;
+    private final AtomicLong nextGlobalSlot;
+
+    public TelegramNotificationDispatcher(TelegramClient telegramClient,
+            @Value("${telegram.dispatcher.threads:8}") int threads,
+            @Value("${telegram.dispatcher.per-chat-interval:1s}") Duration perChatInterval,
+            @Value("${telegram.dispatcher.messages-per-second:30}") int messagesPerSecond,
+            @Value("${telegram.dispatcher.max-attempts:1}") int maxAttempts,
+            @Value("${telegram.dispatcher.initial-backoff:1s}") Duration initialBackoff) {
+        this.telegramClient = telegramClient;
+        this.perChatIntervalNanos = perChatInterval.toNanos();
+        this.globalIntervalNanos = TimeUnit.SECONDS.toNanos(1) / messagesPerSecond;
+        this.maxAttempts = maxAttempts;
+        this.initialBackoffNanos = initialBackoff.toNanos();
+        this.nextGlobalSlot = new AtomicLong(System.nanoTime());
+
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = Executors.newScheduledThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "telegram-dispatch-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.lanes = new KeyedSerialExecutor<>(executor, this::process);
+    }
+
+    /**
+     * Queues a notification and returns a future that completes when it has been
+     * delivered, or exceptionally once it has been given up on.
+     */
+    public CompletableFuture<Void> dispatch(TelegramNotification notification) {
+        Delivery delivery = new Delivery(notification);
+        if (notification.chatId() == null || notification.chatId().isEmpty()) {
+            delivery.result.complete(null);
+            return delivery.result;
+        }
+        lanes.submit(notification.chatId(), delivery);
+        return delivery.result;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    // Returns how long to wait for this send's slot under the global rate limit
+    private long reserveGlobalSlot() {
+        long now = System.nanoTime();
+        long slot = nextGlobalSlot.getAndUpdate(previous -> Math.max(previous, now) + globalIntervalNanos);
+        return Math.max(slot - now, 0);
+    }
+
+    // Telegram's 429 applies to the bot, so no chat sends before retry_after has passed
+    private void holdBackGlobalSlots(Duration retryAfter) {
+        long resumeAt = System.nanoTime() + retryAfter.toNanos();
+        nextGlobalSlot.accumulateAndGet(resumeAt, Math::max);
+    }
+
+    private static final class Delivery {
+        final TelegramNotification notification;
+        final CompletableFuture<Void> result = new CompletableFuture<>();
+        int attempts;
+        boolean holdsGlobalSlot;
+
+        Delivery(TelegramNotification notification) {
+            this.notification = notification;
+        }
+    }
+
+    // Handles the head of a chat's lane: waits for a global slot, then sends
+    private KeyedSerialExecutor.Step process(String chatId, Delivery delivery) {
+        if (!delivery.holdsGlobalSlot) {
+            long wait = reserveGlobalSlot();
+            if (wait > 0) {
+                delivery.holdsGlobalSlot = true;
+                return KeyedSerialExecutor.Step.retryAfter(wait);
+            }
+        }
+        delivery.holdsGlobalSlot = false;
+
+        long retryDelay = send(chatId, delivery);
+        return retryDelay < 0
+                ? KeyedSerialExecutor.Step.nextAfter(perChatIntervalNanos)
+                : KeyedSerialExecutor.Step.retryAfter(retryDelay);
+    }
+
+    // Returns the delay before retrying, or -1 when the delivery is finished
+    private long send(String chatId, Delivery delivery) {
+        delivery.attempts++;
+        try {
+            telegramClient.sendMessage(delivery.notification);
+            delivery.result.complete(null);
+            return -1;
+        } catch (TelegramClient.RateLimitedException e) {
+            holdBackGlobalSlots(e.getRetryAfter());
+            return retryOrGiveUp(chatId, delivery, e, Math.max(backoff(delivery), e.getRetryAfter().toNanos()));
+        } catch (HttpClientErrorException e) {
+            log.error("Telegram rejected message to {}: {}", chatId, e.getStatusCode());
+            delivery.result.completeExceptionally(e);
+            return -1;
+        } catch (Exception e) {
+            return retryOrGiveUp(chatId, delivery, e, backoff(delivery));
+        }
+    }
+
+    private long retryOrGiveUp(String chatId, Delivery delivery, Exception failure, long delay) {
+        if (delivery.attempts >= maxAttempts) {
+            log.debug("Giving up on Telegram message to {} after {} attempts: {}", chatId, delivery.attempts,
+                    OutboxPoller.describe(failure));
+            delivery.result.completeExceptionally(failure);
+            return -1;
+        }
+        log.warn("Telegram message to {} failed (attempt {}), retrying: {}", chatId, delivery.attempts,
+                OutboxPoller.describe(failure));
+        return delay;
+    }
+
+    private long backoff(Delivery delivery) {
+        return initialBackoffNanos << Math.min(delivery.attempts - 1, 16);
+    }
+}
@@ -0,0 +1,45 @@
+package com.assetmarket.api.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Hands {@code telegram.message} outbox events to the {@link TelegramNotificationDispatcher}.
+ */
+@Component
+@RequiredArgsConstructor
+public class TelegramOutboxSink implements OutboxSink {
+
+    public static final String EVENT_TYPE = "telegram.message";
+
+    private final TelegramNotificationDispatcher dispatcher;
+
+    static Map<String, Object> toPayload(TelegramNotification notification) {
+        Map<String, Object> payload = new HashMap<>(4);
+        payload.put("chatId", notification.chatId());
+        payload.put("text", notification.text());
+        if (notification.hasButton()) {
+            payload.put("buttonText", notification.buttonText());
+            payload.put("buttonUrl", notification.buttonUrl());
+        }
+        return payload;
+    }
+
+    @Override
+    public String eventType() {
+        return EVENT_TYPE;
+    }
+
+    @Override
+    public CompletableFuture<Void> deliver(Map<String, Object> payload) {
+        return dispatcher.dispatch(new TelegramNotification(
+                (String) payload.get("chatId"),
+                (String) payload.get("text"),
+                (String) payload.get("buttonText"),
+                (String) payload.get("buttonUrl")));
+    }
+}
@@ -0,0 +1,144 @@
+package com.assetmarket.api.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Buffers incoming Telegram webhook updates so the webhook can acknowledge them
+ * straight away, and processes them on a small worker pool of its own.
+ * <p>
+ * Updates of the same chat are processed one at a time in arrival order; different
+ * chats run in parallel. Telegram redelivers updates it did not get a 200 for, so
+ * updates are deduplicated on {@code update_id}. When {@code capacity} updates are
+ * waiting, new ones are rejected and the webhook answers 503, which makes Telegram
+ * back off and retry instead of the backlog growing without bound.
+ * <p>
+ * Metrics: {@code telegram.updates.queued} (waiting updates) and
+ * {@code telegram.updates} counted by {@code result} (accepted, duplicate, rejected).
+ */
+@Slf4j
+@Component
+public class TelegramUpdateQueue {
+
+    private static final String NO_CHAT = "";
+
+    private final TelegramService telegramService;
+    private final ScheduledExecutorService workers;
+    private final KeyedSerialExecutor<Map<String, Object>> lanes;
+    private final Cache<Object, Boolean> seenUpdateIds;
+    private final AtomicInteger queued = new AtomicInteger();
+    private final int capacity;
+
+    private final Counter accepted;
+    private final Counter duplicates;
+    private final Counter rejected;
+
+    public TelegramUpdateQueue(TelegramService telegramService, MeterRegistry meterRegistry,
+            @Value("${telegram.updates.workers:4}") int workerCount,
+            @Value("${telegram.updates.capacity:1000}") int capacity,
+            @Value("${telegram.updates.dedup-window:10m}") Duration dedupWindow) {
+        this.telegramService = telegramService;
+        this.capacity = capacity;
+        this.seenUpdateIds = Caffeine.newBuilder()
+                .expireAfterWrite(dedupWindow)
+                .maximumSize(100_000)
+                .build();
+
+        AtomicInteger threadCount = new AtomicInteger();
+        this.workers = Executors.newScheduledThreadPool(workerCount, runnable -> {
+            Thread thread = new Thread(runnable, "telegram-updates-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.lanes = new KeyedSerialExecutor<>(workers, this::process);
+
+        Gauge.builder("telegram.updates.queued", queued, AtomicInteger::get)
+                .description("Telegram updates waiting to be processed")
+                .register(meterRegistry);
+        this.accepted = meterRegistry.counter("telegram.updates", "result", "accepted");
+        this.duplicates = meterRegistry.counter("telegram.updates", "result", "duplicate");
+        this.rejected = meterRegistry.counter("telegram.updates", "result", "rejected");
+    }
+
+    /**
+     * Queues an update for processing.
+     *
+     * @return false if the queue is full and the update was not taken; duplicates
+     *         count as taken
+     */
+    public boolean submit(Map<String, Object> update) {
+        Object updateId = update.get("update_id");
+        if (updateId != null && seenUpdateIds.asMap().putIfAbsent(updateId, Boolean.TRUE) != null) {
+            duplicates.increment();
+            return true;
+        }
+        if (queued.incrementAndGet() > capacity) {
+            queued.decrementAndGet();
+            if (updateId != null) {
+                // Let Telegram's redelivery through
+                seenUpdateIds.invalidate(updateId);
+            }
+            rejected.increment();
+            return false;
+        }
+        accepted.increment();
+
+        lanes.submit(chatId(update), update);
+        return true;
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        workers.shutdown();
+        workers.awaitTermination(5, TimeUnit.SECONDS);
+    }
+
+    // An update carries one payload (message, callback_query, ...); its chat is on the
+    // payload itself, on the message it refers to, or else the sender's private chat
+    private static String chatId(Map<String, Object> update) {
+        for (Object value : update.values()) {
+            if (value instanceof Map<?, ?> payload) {
+                Object id = nestedId(payload, "chat");
+                if (id == null && payload.get("message") instanceof Map<?, ?> message) {
+                    id = nestedId(message, "chat");
+                }
+                if (id == null) {
+                    id = nestedId(payload, "from");
+                }
+                if (id != null) {
+                    return String.valueOf(id);
+                }
+            }
+        }
+        return NO_CHAT;
+    }
+
+    private static Object nestedId(Map<?, ?> map, String key) {
+        return map.get(key) instanceof Map<?, ?> nested ? nested.get("id") : null;
+    }
+
+    // One update per run, so a busy chat does not starve the others
+    private KeyedSerialExecutor.Step process(String chatId, Map<String, Object> update) {
+        queued.decrementAndGet();
+        try {
+            telegramService.handleUpdate(update);
+        } catch (Exception e) {
+            log.error("Error processing Telegram update {}", update.get("update_id"), e);
+        }
+        return KeyedSerialExecutor.Step.NEXT;
+    }
+}
@@ -4,14 +4,12 @@ import com.assetmarket.api.dto.ViewingRequestDTO;
 import com.assetmarket.api.entity.*;
 import com.assetmarket.api.repository.MessageRepository;
 import com.assetmarket.api.repository.PropertyRepository;
-import com.assetmarket.api.repository.UserRepository;
 import com.assetmarket.api.repository.ViewingRequestRepository;
+import com.assetmarket.api.security.CurrentUserResolver;
 import com.assetmarket.api.security.TenantContext;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
-import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -24,13 +22,13 @@ public class ViewingService {
 
     private final ViewingRequestRepository viewingRequestRepository;
     private final PropertyRepository propertyRepository;
-    private final UserRepository userRepository;
+    private final CurrentUserResolver currentUserResolver;
     private final MessageRepository messageRepository;
     private final TelegramService telegramService;
 
     @Transactional
     public ViewingRequestDTO requestViewing(Long propertyId, LocalDateTime dateTime, String notes) {
-        User user = getCurrentUser();
+        User user = currentUserResolver.getUser();
         Property property = propertyRepository.findById(propertyId)
                 .orElseThrow(() -> new IllegalArgumentException("Property not found"));
 
@@ -75,11 +73,11 @@ public class ViewingService {
 
     @Transactional
     public ViewingRequestDTO updateStatus(Long requestId, ViewingStatus status) {
-        User requester = getCurrentUser();
+        User requester = currentUserResolver.getReference();
         ViewingRequest request = viewingRequestRepository.findById(requestId)
                 .orElseThrow(() -> new IllegalArgumentException("Viewing request not found"));
 
-        boolean isAdmin = requester.getRoles().contains(Role.ROLE_ADMIN);
+        boolean isAdmin = currentUserResolver.hasRole(Role.ROLE_ADMIN);
 
         // Validation: Only admin can approve/reject. User can only cancel.
         if (status == ViewingStatus.APPROVED || status == ViewingStatus.REJECTED) {
@@ -87,7 +85,7 @@ public class ViewingService {
                 throw new IllegalArgumentException("Unauthorized to approve/reject viewings");
             }
         } else if (status == ViewingStatus.CANCELLED) {
-            if (!isAdmin && !request.getUser().getId().equals(requester.getId())) {
+            if (!isAdmin && !request.getUser().getId().equals(currentUserResolver.getUserId())) {
                 throw new IllegalArgumentException("Unauthorized to cancel this viewing");
             }
         }
@@ -123,15 +121,13 @@ public class ViewingService {
 
     @Transactional(readOnly = true)
     public Page<ViewingRequestDTO> getMyViewings(Pageable pageable) {
-        User user = getCurrentUser();
-        return viewingRequestRepository.findByUserAndTenantId(user, TenantContext.getCurrentTenant(), pageable)
-                .map(this::convertToDTO);
+        return viewingRequestRepository.findDTOsByUserIdAndTenantId(currentUserResolver.getUserId(),
+                TenantContext.getCurrentTenant(), pageable);
     }
 
     @Transactional(readOnly = true)
     public Page<ViewingRequestDTO> getMerchantViewings(Pageable pageable) {
-        return viewingRequestRepository.findByTenantId(TenantContext.getCurrentTenant(), pageable)
-                .map(this::convertToDTO);
+        return viewingRequestRepository.findDTOsByTenantId(TenantContext.getCurrentTenant(), pageable);
     }
 
     private ViewingRequestDTO convertToDTO(ViewingRequest request) {
@@ -147,17 +143,4 @@ public class ViewingService {
                 .createdAt(request.getCreatedAt())
                 .build();
     }
-
-    private User getCurrentUser() {
-        Object principal = SecurityContextHolder.getContext().getAuthentication().getPrincipal();
-        String username;
-        if (principal instanceof UserDetails) {
-            username = ((UserDetails) principal).getUsername();
-        } else {
-            username = principal.toString();
-        }
-
-        return userRepository.findByUsernameAndTenantId(username, TenantContext.getCurrentTenant())
-                .orElseThrow(() -> new IllegalStateException("User context not found"));
-    }
 }
@@ -0,0 +1,27 @@
+-- Indexes backing PropertyRepository.findWithFilters / findWithFiltersAfter.
+-- Every search is scoped to one tenant, so the B-tree indexes lead with tenant_id.
+
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+-- Default listing order (createdAt DESC) and its keyset tiebreaker
+CREATE INDEX IF NOT EXISTS idx_properties_tenant_created
+    ON properties (tenant_id, created_at, id);
+
+-- Price range filters and price sorting
+CREATE INDEX IF NOT EXISTS idx_properties_tenant_price
+    ON properties (tenant_id, price, id);
+
+-- Category and status filters, optionally narrowed by price
+CREATE INDEX IF NOT EXISTS idx_properties_tenant_category_status_price
+    ON properties (tenant_id, category_id, status, price);
+
+CREATE INDEX IF NOT EXISTS idx_properties_tenant_status_price
+    ON properties (tenant_id, status, price);
+
+-- attributes @> '{...}' containment filters
+CREATE INDEX IF NOT EXISTS idx_properties_attributes
+    ON properties USING gin (attributes jsonb_path_ops);
+
+-- location ILIKE '%...%' substring search
+CREATE INDEX IF NOT EXISTS idx_properties_location_trgm
+    ON properties USING gin (location gin_trgm_ops);
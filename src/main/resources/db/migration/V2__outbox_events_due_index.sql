@@ -0,0 +1,5 @@
+-- Backs OutboxEventRepository.lockDueEvents: only undelivered events are indexed,
+-- so the index stays small however many sent events are retained.
+CREATE INDEX IF NOT EXISTS idx_outbox_events_due
+    ON outbox_events (available_at, id)
+    WHERE status IN ('PENDING', 'PROCESSING');
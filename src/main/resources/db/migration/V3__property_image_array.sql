@@ -0,0 +1,19 @@
+-- Moves property images from the property_images join table into the
+-- properties.image_urls text[] column that Hibernate has added. Schemas created
+-- after the change never had the join table, so there is nothing to move.
+-- The join table had no order column and was rewritten in list order on every
+-- change, so physical row order (ctid) is the list order. Images already in
+-- the column were appended after the switch and are kept after the moved ones.
+DO $$
+BEGIN
+    IF to_regclass('property_images') IS NOT NULL THEN
+        UPDATE properties p
+        SET image_urls = i.image_urls || p.image_urls
+        FROM (SELECT property_id, array_agg(image_url ORDER BY ctid) AS image_urls
+              FROM property_images
+              GROUP BY property_id) i
+        WHERE p.id = i.property_id;
+
+        DROP TABLE property_images;
+    END IF;
+END $$;
@@ -0,0 +1,14 @@
+-- One-time rebuild of the denormalized rating summaries (properties.rating_sum,
+-- review_count, average_rating) from the reviews table, for every tenant.
+-- Hibernate added the columns with default 0 to properties that already had
+-- reviews; ReviewService only folds new reviews into the stored summary.
+UPDATE properties p
+SET rating_sum = COALESCE(agg.rating_sum, 0),
+    review_count = agg.review_count,
+    average_rating = agg.average_rating
+FROM (SELECT t.id, SUM(r.rating) AS rating_sum, COUNT(r.id) AS review_count,
+             AVG(r.rating) AS average_rating
+      FROM properties t
+      LEFT JOIN reviews r ON r.property_id = t.id
+      GROUP BY t.id) agg
+WHERE p.id = agg.id;
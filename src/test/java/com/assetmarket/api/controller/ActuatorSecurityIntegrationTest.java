@@ -0,0 +1,46 @@
+package com.assetmarket.api.controller;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalManagementPort;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "management.server.port=0",
+        "management.endpoints.web.exposure.include=health,metrics"
+})
+@ActiveProfiles("test")
+public class ActuatorSecurityIntegrationTest {
+
+    private final HttpClient httpClient = HttpClient.newHttpClient();
+
+    @LocalServerPort
+    private int serverPort;
+
+    @LocalManagementPort
+    private int managementPort;
+
+    @Test
+    void shouldAnswerHealthProbesWithoutAuthentication() throws Exception {
+        assertThat(statusOf(managementPort, "/actuator/health")).isEqualTo(200);
+    }
+
+    @Test
+    void shouldServeMetricsOnTheManagementPortOnly() throws Exception {
+        assertThat(statusOf(managementPort, "/actuator/metrics")).isEqualTo(200);
+        assertThat(statusOf(serverPort, "/actuator/metrics")).isNotEqualTo(200);
+    }
+
+    private int statusOf(int port, String path) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path)).GET().build();
+        return httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+}
@@ -2,7 +2,13 @@ package com.assetmarket.api.controller;
 
 import com.assetmarket.api.dto.LoginRequest;
 import com.assetmarket.api.dto.OnboardingRequest;
+import com.assetmarket.api.entity.User;
+import com.assetmarket.api.repository.UserRepository;
+import com.assetmarket.api.security.AuthenticatedUser;
+import com.assetmarket.api.security.UserPrincipalCache;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jayway.jsonpath.JsonPath;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
@@ -11,7 +17,10 @@ import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.transaction.annotation.Transactional;
 
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @SpringBootTest
@@ -25,6 +34,15 @@ public class AuthControllerIntegrationTest {
     @Autowired
     private ObjectMapper objectMapper;
 
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UserPrincipalCache userPrincipalCache;
+
     @Test
     void shouldOnboardCompanyAndLoginAdmin() throws Exception {
         // Use shorter unique ID to satisfy @Size(max = 20) constraints
@@ -55,4 +73,121 @@ public class AuthControllerIntegrationTest {
                 .content(objectMapper.writeValueAsString(loginRequest)))
                 .andExpect(status().isOk());
     }
+
+    @Test
+    void shouldAuthenticateFromTokenAloneUntilLogout() throws Exception {
+        String uniqueId = "s" + (System.currentTimeMillis() % 1000000);
+
+        OnboardingRequest onboardingRequest = OnboardingRequest.builder()
+                .companyName("Company " + uniqueId)
+                .slug("slug" + uniqueId)
+                .adminUsername("admin" + uniqueId)
+                .adminEmail("admin" + uniqueId + "@example.com")
+                .adminPassword("password123")
+                .build();
+
+        mockMvc.perform(post("/api/v1/onboard")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(onboardingRequest)))
+                .andExpect(status().isOk());
+
+        LoginRequest loginRequest = new LoginRequest();
+        loginRequest.setUsername("admin" + uniqueId);
+        loginRequest.setPassword("password123");
+
+        String body = mockMvc.perform(post("/api/v1/auth/login")
+                .header("X-Tenant-ID", onboardingRequest.getSlug())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(loginRequest)))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        String token = JsonPath.read(body, "$.token");
+
+        // Tenant and roles come from the token; no X-Tenant-ID header needed
+        mockMvc.perform(get("/api/v1/auth/me")
+                .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.tenantId").value(onboardingRequest.getSlug()))
+                .andExpect(jsonPath("$.roles[0]").value("ROLE_ADMIN"));
+
+        mockMvc.perform(post("/api/v1/auth/logout")
+                .header("Authorization", "Bearer " + token))
+                .andExpect(status().isNoContent());
+
+        mockMvc.perform(get("/api/v1/auth/me")
+                .header("Authorization", "Bearer " + token))
+                .andExpect(status().isForbidden());
+
+        // Logging straight back in, usually within the same second, gets a working token
+        String newBody = mockMvc.perform(post("/api/v1/auth/login")
+                .header("X-Tenant-ID", onboardingRequest.getSlug())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(loginRequest)))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        mockMvc.perform(get("/api/v1/auth/me")
+                .header("Authorization", "Bearer " + JsonPath.read(newBody, "$.token")))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void shouldServeRepeatedLoginsFromPrincipalCache() throws Exception {
+        String uniqueId = "c" + (System.currentTimeMillis() % 1000000);
+
+        OnboardingRequest onboardingRequest = OnboardingRequest.builder()
+                .companyName("Company " + uniqueId)
+                .slug("slug" + uniqueId)
+                .adminUsername("admin" + uniqueId)
+                .adminEmail("admin" + uniqueId + "@example.com")
+                .adminPassword("password123")
+                .build();
+
+        mockMvc.perform(post("/api/v1/onboard")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(onboardingRequest)))
+                .andExpect(status().isOk());
+
+        LoginRequest loginRequest = new LoginRequest();
+        loginRequest.setUsername("admin" + uniqueId);
+        loginRequest.setPassword("password123");
+
+        double hitsBefore = principalCacheHits();
+        for (int i = 0; i < 2; i++) {
+            mockMvc.perform(post("/api/v1/auth/login")
+                    .header("X-Tenant-ID", onboardingRequest.getSlug())
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(objectMapper.writeValueAsString(loginRequest)))
+                    .andExpect(status().isOk());
+        }
+
+        // The first login loads the user, the second is served from the cache
+        assertThat(principalCacheHits() - hitsBefore).isEqualTo(1.0);
+    }
+
+    @Test
+    void shouldEvictCachedPrincipalWhenUserIsSaved() {
+        User user = userRepository.save(User.builder()
+                .username("evict-user")
+                .email("evict-user@example.com")
+                .password("password123")
+                .tenantId("evict-tenant")
+                .build());
+        AuthenticatedUser cached = AuthenticatedUser.from(user);
+        assertThat(userPrincipalCache.get("evict-tenant", "evict-user", () -> cached)).isSameAs(cached);
+
+        user.setEmail("evict-user-changed@example.com");
+        userRepository.saveAndFlush(user);
+
+        AuthenticatedUser reloaded = AuthenticatedUser.from(user);
+        assertThat(userPrincipalCache.get("evict-tenant", "evict-user", () -> reloaded)).isSameAs(reloaded);
+    }
+
+    private double principalCacheHits() {
+        return meterRegistry.get("cache.gets")
+                .tag("cache", "userPrincipals")
+                .tag("result", "hit")
+                .functionCounter()
+                .count();
+    }
 }
@@ -2,6 +2,7 @@ package com.assetmarket.api.controller;
 
 import com.assetmarket.api.dto.CategoryDTO;
 import com.assetmarket.api.dto.AttributeSchemaDTO;
+import com.assetmarket.api.dto.PropertyDTO;
 import com.assetmarket.api.entity.Category;
 import com.assetmarket.api.repository.CategoryRepository;
 import com.assetmarket.api.security.TenantContext;
@@ -15,8 +16,10 @@ import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.math.BigDecimal;
 import java.util.List;
 
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
@@ -67,4 +70,45 @@ public class CategoryUpdateIntegrationTest {
         // 4. VerifyDB persistence
         // (Optional: Implicitly verified by response, but good to be sure)
     }
+
+    @Test
+    @WithMockUser(username = "admin", roles = { "ADMIN" })
+    void shouldValidatePropertiesAgainstUpdatedSchema() throws Exception {
+        TenantContext.setCurrentTenant("test-tenant");
+        Category category = categoryRepository.save(Category.builder()
+                .name("CachedCategory")
+                .tenantId("test-tenant")
+                .build());
+
+        PropertyDTO propertyDTO = new PropertyDTO();
+        propertyDTO.setTitle("Plain Property");
+        propertyDTO.setPrice(new BigDecimal("1000"));
+        propertyDTO.setLocation("Anywhere");
+        propertyDTO.setCategoryName("CachedCategory");
+
+        // Loads the schema-less category into the cache
+        mockMvc.perform(post("/api/v1/properties")
+                .header("X-Tenant-ID", "test-tenant")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(propertyDTO)))
+                .andExpect(status().isCreated());
+
+        CategoryDTO updateDTO = CategoryDTO.builder()
+                .name("CachedCategory")
+                .attributeSchema(List.of(new AttributeSchemaDTO("floors", "number", true)))
+                .build();
+
+        mockMvc.perform(put("/api/v1/categories/" + category.getId())
+                .header("X-Tenant-ID", "test-tenant")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(updateDTO)))
+                .andExpect(status().isOk());
+
+        // The new required field must be enforced, not the cached schema
+        mockMvc.perform(post("/api/v1/properties")
+                .header("X-Tenant-ID", "test-tenant")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(propertyDTO)))
+                .andExpect(status().isBadRequest());
+    }
 }
@@ -2,6 +2,8 @@ package com.assetmarket.api.controller;
 
 import com.assetmarket.api.entity.*;
 import com.assetmarket.api.repository.*;
+import com.assetmarket.api.security.AuthenticatedUser;
+import com.assetmarket.api.security.JwtUtils;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -52,6 +54,10 @@ public class FavoriteIntegrationTest {
         private String tenantId = "test-tenant-favs";
         private Long propertyId;
         private String username = "testuser";
+        private User user;
+
+        @Autowired
+        private JwtUtils jwtUtils;
 
         @BeforeEach
         public void setup() {
@@ -75,7 +81,7 @@ public class FavoriteIntegrationTest {
                                 .roles(Set.of(Role.ROLE_USER))
                                 .tenantId(tenantId)
                                 .build();
-                userRepository.save(user);
+                this.user = userRepository.save(user);
 
                 Category residential = Category.builder()
                                 .name("Residential")
@@ -127,6 +133,22 @@ public class FavoriteIntegrationTest {
                                 .andExpect(jsonPath("$.content", hasSize(0)));
         }
 
+        @Test
+        public void shouldToggleFavoriteWithBearerToken() throws Exception {
+                // The current user is resolved from the token claims, without the tenant header
+                String token = jwtUtils.generateToken(AuthenticatedUser.from(user));
+
+                mockMvc.perform(post("/api/v1/favorites/{id}", propertyId)
+                                .header("Authorization", "Bearer " + token))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$.message", containsString("added to favorites")));
+
+                mockMvc.perform(get("/api/v1/favorites")
+                                .header("Authorization", "Bearer " + token))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$.content", hasSize(1)));
+        }
+
         @Test
         @WithMockUser(username = "testuser", roles = "USER")
         public void shouldNotFavoriteCrossTenant() throws Exception {
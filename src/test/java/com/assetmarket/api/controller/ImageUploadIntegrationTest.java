@@ -5,9 +5,11 @@ import com.assetmarket.api.entity.Tenant;
 import com.assetmarket.api.repository.CategoryRepository;
 import com.assetmarket.api.repository.PropertyRepository;
 import com.assetmarket.api.repository.TenantRepository;
+import com.jayway.jsonpath.JsonPath;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
@@ -15,15 +17,28 @@ import org.springframework.mock.web.MockMultipartFile;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMultipartHttpServletRequestBuilder;
 import org.springframework.transaction.annotation.Transactional;
 
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
 import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.endsWith;
 import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.multipart;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -45,6 +60,13 @@ public class ImageUploadIntegrationTest {
         @Autowired
         private TenantRepository tenantRepository;
 
+        @Value("${app.upload.dir}")
+        private Path uploadDir;
+
+        // JPEG magic bytes followed by filler; enough for type detection
+        private static final byte[] JPEG_BYTES = { (byte) 0xFF, (byte) 0xD8, (byte) 0xFF, (byte) 0xE0, 0, 0x10,
+                        'J', 'F', 'I', 'F', 0, 1, 'f', 'a', 'k', 'e' };
+
         private String tenantId = "test-tenant-images";
         private Long propertyId;
 
@@ -89,7 +111,7 @@ public class ImageUploadIntegrationTest {
                                 "file",
                                 "test-image.jpg",
                                 MediaType.IMAGE_JPEG_VALUE,
-                                "fake-image-content".getBytes());
+                                JPEG_BYTES);
 
                 mockMvc.perform(multipart("/api/v1/properties/{id}/images", propertyId)
                                 .file(file)
@@ -99,4 +121,156 @@ public class ImageUploadIntegrationTest {
                                 .andExpect(jsonPath("$.imageUrls[0]", containsString("/uploads/" + tenantId)))
                                 .andExpect(jsonPath("$.imageUrls[0]", containsString(".jpg")));
         }
+
+        @Test
+        @WithMockUser(roles = "ADMIN")
+        public void shouldAppendSeveralImagesInOneRequest() throws Exception {
+                propertyRepository.appendImageUrls(propertyId, tenantId, new String[] { "/uploads/existing.jpg" },
+                                LocalDateTime.now());
+                byte[] other = JPEG_BYTES.clone();
+                other[other.length - 1] = 'g';
+
+                mockMvc.perform(multipart("/api/v1/properties/{id}/images", propertyId)
+                                .file(new MockMultipartFile("file", "a.jpg", MediaType.IMAGE_JPEG_VALUE, JPEG_BYTES))
+                                .file(new MockMultipartFile("file", "b.jpg", MediaType.IMAGE_JPEG_VALUE, other))
+                                .header("X-Tenant-ID", tenantId))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$.imageUrls", hasSize(3)))
+                                .andExpect(jsonPath("$.imageUrls[0]", is("/uploads/existing.jpg")))
+                                .andExpect(jsonPath("$.imageUrls[1]", containsString("/uploads/" + tenantId)))
+                                .andExpect(jsonPath("$.imageUrls[2]", containsString("/uploads/" + tenantId)))
+                                .andExpect(jsonPath("$.categoryName", is("Residential")))
+                                .andExpect(jsonPath("$.attributes.bedrooms", is(3)));
+        }
+
+        @Test
+        @WithMockUser(roles = "ADMIN")
+        public void shouldLimitFilesPerRequest() throws Exception {
+                MockMultipartHttpServletRequestBuilder request = multipart("/api/v1/properties/{id}/images",
+                                propertyId);
+                for (int i = 0; i < 11; i++) {
+                        request.file(new MockMultipartFile("file", i + ".jpg", MediaType.IMAGE_JPEG_VALUE, JPEG_BYTES));
+                }
+
+                mockMvc.perform(request.header("X-Tenant-ID", tenantId))
+                                .andExpect(status().isBadRequest());
+
+                assertThat(propertyRepository.findById(propertyId).orElseThrow().getImageUrls()).isEmpty();
+        }
+
+        @Test
+        @WithMockUser(roles = "USER")
+        public void shouldOnlyLetAdminsAppendImages() throws Exception {
+                mockMvc.perform(multipart("/api/v1/properties/{id}/images", propertyId)
+                                .file(new MockMultipartFile("file", "a.jpg", MediaType.IMAGE_JPEG_VALUE, JPEG_BYTES))
+                                .header("X-Tenant-ID", tenantId))
+                                .andExpect(status().isForbidden());
+
+                assertThat(propertyRepository.findById(propertyId).orElseThrow().getImageUrls()).isEmpty();
+        }
+
+        @Test
+        @WithMockUser(roles = "ADMIN")
+        public void shouldNotAppendImagesToAnotherTenantsProperty() throws Exception {
+                tenantRepository.save(Tenant.builder().name("Other").slug("other-images").active(true).build());
+
+                mockMvc.perform(multipart("/api/v1/properties/{id}/images", propertyId)
+                                .file(new MockMultipartFile("file", "a.jpg", MediaType.IMAGE_JPEG_VALUE, JPEG_BYTES))
+                                .header("X-Tenant-ID", "other-images"))
+                                .andExpect(status().isBadRequest());
+
+                assertThat(propertyRepository.findById(propertyId).orElseThrow().getImageUrls()).isEmpty();
+        }
+
+        @Test
+        @WithMockUser(roles = "ADMIN")
+        public void shouldStoreIdenticalUploadsOnce() throws Exception {
+                MockMultipartFile first = new MockMultipartFile("file", "a.jpg", MediaType.IMAGE_JPEG_VALUE, JPEG_BYTES);
+                MockMultipartFile second = new MockMultipartFile("file", "b.jpeg", MediaType.IMAGE_JPEG_VALUE,
+                                JPEG_BYTES);
+
+                String firstUrl = mockMvc.perform(multipart("/api/v1/properties/upload")
+                                .file(first)
+                                .header("X-Tenant-ID", tenantId))
+                                .andExpect(status().isOk())
+                                .andReturn().getResponse().getContentAsString();
+
+                mockMvc.perform(multipart("/api/v1/properties/upload")
+                                .file(second)
+                                .header("X-Tenant-ID", tenantId))
+                                .andExpect(status().isOk())
+                                .andExpect(content().string(firstUrl));
+        }
+
+        @Test
+        @WithMockUser(roles = "ADMIN")
+        public void shouldRejectFilesThatAreNotImages() throws Exception {
+                MockMultipartFile file = new MockMultipartFile("file", "photo.jpg", MediaType.IMAGE_JPEG_VALUE,
+                                "<html>not an image</html>".getBytes());
+
+                mockMvc.perform(multipart("/api/v1/properties/{id}/images", propertyId)
+                                .file(file)
+                                .header("X-Tenant-ID", tenantId))
+                                .andExpect(status().isBadRequest());
+        }
+
+        @Test
+        @WithMockUser(roles = "ADMIN")
+        public void shouldGenerateWebSizedVariants() throws Exception {
+                BufferedImage photo = new BufferedImage(2000, 1000, BufferedImage.TYPE_INT_RGB);
+                ByteArrayOutputStream png = new ByteArrayOutputStream();
+                ImageIO.write(photo, "png", png);
+                MockMultipartFile file = new MockMultipartFile("file", "photo.png", MediaType.IMAGE_PNG_VALUE,
+                                png.toByteArray());
+
+                String body = mockMvc.perform(multipart("/api/v1/properties/{id}/images", propertyId)
+                                .file(file)
+                                .header("X-Tenant-ID", tenantId))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$.images[0].original", endsWith(".png")))
+                                .andExpect(jsonPath("$.images[0].thumbnail", endsWith("_thumb.jpg")))
+                                .andExpect(jsonPath("$.images[0].medium", endsWith("_medium.jpg")))
+                                .andReturn().getResponse().getContentAsString();
+
+                String thumbnailUrl = JsonPath.read(body, "$.images[0].thumbnail");
+                Path thumbnail = uploadDir.resolve(thumbnailUrl.substring("/uploads/".length()));
+                for (int i = 0; i < 100 && !Files.exists(thumbnail); i++) {
+                        Thread.sleep(50);
+                }
+                BufferedImage generated = ImageIO.read(thumbnail.toFile());
+                assertThat(generated.getWidth()).isEqualTo(320);
+                assertThat(generated.getHeight()).isEqualTo(160);
+        }
+
+        @Test
+        public void shouldServeOriginalUntilVariantExists() throws Exception {
+                storeFixture("default/14e62d5f-3a87-40c1-a87d-aa56fd6d3c4f.jpg");
+
+                mockMvc.perform(get("/uploads/default/14e62d5f-3a87-40c1-a87d-aa56fd6d3c4f_thumb.jpg"))
+                                .andExpect(status().isOk())
+                                .andExpect(header().string("Cache-Control", "no-cache"));
+        }
+
+        @Test
+        public void shouldServeUploadsAsImmutableWithStrongEtags() throws Exception {
+                storeFixture("default/14e62d5f-3a87-40c1-a87d-aa56fd6d3c4f.jpg");
+                String url = "/uploads/default/14e62d5f-3a87-40c1-a87d-aa56fd6d3c4f.jpg";
+
+                mockMvc.perform(get(url))
+                                .andExpect(status().isOk())
+                                .andExpect(header().string("Cache-Control", containsString("immutable")))
+                                .andExpect(header().string("ETag", "\"14e62d5f-3a87-40c1-a87d-aa56fd6d3c4f.jpg\""));
+
+                mockMvc.perform(get(url).header("If-None-Match", "\"14e62d5f-3a87-40c1-a87d-aa56fd6d3c4f.jpg\""))
+                                .andExpect(status().isNotModified());
+
+                mockMvc.perform(get(url).header("Range", "bytes=0-1"))
+                                .andExpect(status().isPartialContent());
+        }
+
+        private void storeFixture(String name) throws Exception {
+                Path file = uploadDir.resolve(name);
+                Files.createDirectories(file.getParent());
+                Files.write(file, JPEG_BYTES);
+        }
 }
@@ -0,0 +1,245 @@
+package com.assetmarket.api.controller;
+
+import com.assetmarket.api.entity.*;
+import com.assetmarket.api.repository.*;
+import com.assetmarket.api.service.PropertyService;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Guards the property, favorite, message, viewing and review listings against N+1
+ * selects: every row below has its own property and/or user, so per-row lazy loading
+ * would show up as a statement count growing with the page.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Transactional
+public class ListingQueryCountIntegrationTest {
+
+    private static final int ROWS = 6;
+    // Security and tenant lookups plus the page and count queries
+    private static final long MAX_STATEMENTS = 6;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private PropertyRepository propertyRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TenantRepository tenantRepository;
+
+    @Autowired
+    private MessageRepository messageRepository;
+
+    @Autowired
+    private ViewingRequestRepository viewingRequestRepository;
+
+    @Autowired
+    private ReviewRepository reviewRepository;
+
+    @Autowired
+    private FavoriteRepository favoriteRepository;
+
+    @Autowired
+    private PropertyService propertyService;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private SessionFactory sessionFactory;
+
+    private final String tenantId = "test-tenant-query-count";
+    private Long propertyId;
+    private Long buyerId;
+    private final List<Long> viewedIds = new ArrayList<>();
+
+    @BeforeEach
+    public void setup() {
+        tenantRepository.save(Tenant.builder().name("Query Count Tenant").slug(tenantId).active(true).build());
+
+        User buyer = userRepository.save(user("count-buyer", Role.ROLE_USER));
+        buyerId = buyer.getId();
+        Property listed = propertyRepository.save(property("Listed"));
+        propertyId = listed.getId();
+
+        List<User> others = new ArrayList<>();
+        for (int i = 0; i < ROWS; i++) {
+            User admin = userRepository.save(user("count-admin-" + i, Role.ROLE_ADMIN));
+            User reviewer = userRepository.save(user("count-reviewer-" + i, Role.ROLE_USER));
+            others.add(reviewer);
+
+            messageRepository.save(Message.builder()
+                    .property(listed).sender(admin).content("Reply " + i).tenantId(tenantId).build());
+            reviewRepository.save(Review.builder()
+                    .property(listed).user(reviewer).rating(4).tenantId(tenantId).build());
+        }
+        for (int i = 0; i < ROWS; i++) {
+            Property viewed = property("Viewed " + i);
+            viewed.setDescription("A long description that list pages never need");
+            viewed.setAttributes(new HashMap<>(Map.of("bedrooms", 3, "parking", "garage")));
+            viewed.setImageUrls(new ArrayList<>(List.of("/uploads/" + tenantId + "/cover-" + i + ".jpg",
+                    "/uploads/" + tenantId + "/other-" + i + ".jpg")));
+            viewed = propertyRepository.save(viewed);
+            viewedIds.add(viewed.getId());
+            favoriteRepository.save(Favorite.builder().user(buyer).property(viewed).tenantId(tenantId).build());
+            for (User viewer : List.of(buyer, others.get(i))) {
+                viewingRequestRepository.save(ViewingRequest.builder()
+                        .property(viewed).user(viewer).requestedAt(LocalDateTime.now().plusDays(1))
+                        .status(ViewingStatus.PENDING)
+                        .tenantId(tenantId).build());
+            }
+        }
+
+        // Start the requests with an empty persistence context, as in production
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    @WithMockUser(username = "count-admin-0", roles = "ADMIN")
+    public void shouldLoadMessageThreadInConstantStatements() throws Exception {
+        assertStatementsBounded(get("/api/v1/messages/thread/{id}", propertyId)
+                .param("userId", String.valueOf(buyerId))
+                .header("X-Tenant-ID", tenantId));
+        mockMvc.perform(get("/api/v1/messages/thread/{id}", propertyId)
+                .param("userId", String.valueOf(buyerId))
+                .header("X-Tenant-ID", tenantId))
+                .andExpect(jsonPath("$.content", hasSize(ROWS)))
+                .andExpect(jsonPath("$.content[0].propertyTitle", is("Listed")))
+                .andExpect(jsonPath("$.content[0].senderUsername", startsWith("count-admin-")));
+    }
+
+    @Test
+    @WithMockUser(username = "count-admin-0", roles = "ADMIN")
+    public void shouldLoadMerchantViewingsInConstantStatements() throws Exception {
+        assertStatementsBounded(get("/api/v1/viewings/merchant").header("X-Tenant-ID", tenantId));
+        mockMvc.perform(get("/api/v1/viewings/merchant").header("X-Tenant-ID", tenantId))
+                .andExpect(jsonPath("$.content", hasSize(2 * ROWS)))
+                .andExpect(jsonPath("$.content[0].propertyTitle", startsWith("Viewed ")))
+                .andExpect(jsonPath("$.content[0].username", notNullValue()));
+    }
+
+    @Test
+    @WithMockUser(username = "count-buyer", roles = "USER")
+    public void shouldLoadMyViewingsInConstantStatements() throws Exception {
+        assertStatementsBounded(get("/api/v1/viewings/my").header("X-Tenant-ID", tenantId));
+        mockMvc.perform(get("/api/v1/viewings/my").header("X-Tenant-ID", tenantId))
+                .andExpect(jsonPath("$.content", hasSize(ROWS)))
+                .andExpect(jsonPath("$.content[*].username", everyItem(is("count-buyer"))));
+    }
+
+    @Test
+    @WithMockUser(username = "count-buyer", roles = "USER")
+    public void shouldLoadReviewsInConstantStatements() throws Exception {
+        assertStatementsBounded(get("/api/v1/reviews/property/{id}", propertyId).header("X-Tenant-ID", tenantId));
+        mockMvc.perform(get("/api/v1/reviews/property/{id}", propertyId).header("X-Tenant-ID", tenantId))
+                .andExpect(jsonPath("$.content", hasSize(ROWS)))
+                .andExpect(jsonPath("$.content[0].username", startsWith("count-reviewer-")));
+    }
+
+    @Test
+    @WithMockUser(username = "count-buyer", roles = "USER")
+    public void shouldListPropertyCardsWithoutLoadingEntities() throws Exception {
+        assertStatementsBounded(get("/api/v1/properties").param("sortBy", "title").param("sortDir", "ASC")
+                .header("X-Tenant-ID", tenantId));
+        Statistics statistics = sessionFactory.getStatistics();
+        assertThat(statistics.getEntityStatistics(Property.class.getName()).getLoadCount()).isZero();
+
+        mockMvc.perform(get("/api/v1/properties").param("sortBy", "title").param("sortDir", "ASC")
+                .header("X-Tenant-ID", tenantId))
+                .andExpect(jsonPath("$.content", hasSize(ROWS + 1)))
+                .andExpect(jsonPath("$.content[1].title", is("Viewed 0")))
+                .andExpect(jsonPath("$.content[1].coverImage.original",
+                        is("/uploads/" + tenantId + "/cover-0.jpg")))
+                .andExpect(jsonPath("$.content[1].coverImage.thumbnail",
+                        is("/uploads/" + tenantId + "/cover-0_thumb.jpg")))
+                .andExpect(jsonPath("$.content[1].attributes.bedrooms", is(3)))
+                .andExpect(jsonPath("$.content[1].attributes.parking").doesNotExist())
+                .andExpect(jsonPath("$.content[0].attributes").isMap())
+                .andExpect(jsonPath("$.content[1].description").doesNotExist())
+                .andExpect(jsonPath("$.content[1].imageUrls").doesNotExist())
+                .andExpect(jsonPath("$.content[0].coverImage").value(nullValue()));
+    }
+
+    @Test
+    @WithMockUser(username = "count-buyer", roles = "USER")
+    public void shouldListFavoritesInConstantStatements() throws Exception {
+        assertStatementsBounded(get("/api/v1/favorites").header("X-Tenant-ID", tenantId));
+        mockMvc.perform(get("/api/v1/favorites").header("X-Tenant-ID", tenantId))
+                .andExpect(jsonPath("$.content", hasSize(ROWS)))
+                .andExpect(jsonPath("$.content[*].title", everyItem(startsWith("Viewed "))));
+    }
+
+    @Test
+    public void shouldConvertLoadedPropertiesWithoutImageQueries() {
+        List<Property> properties = propertyRepository.findAllById(viewedIds);
+        Statistics statistics = sessionFactory.getStatistics();
+        statistics.clear();
+
+        List<String> covers = properties.stream()
+                .map(propertyService::convertToDTO)
+                .map(dto -> dto.getImageUrls().get(0))
+                .toList();
+
+        assertThat(covers).hasSize(ROWS).allMatch(url -> url.contains("/cover-"));
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+    }
+
+    private void assertStatementsBounded(RequestBuilder request) throws Exception {
+        Statistics statistics = sessionFactory.getStatistics();
+        statistics.clear();
+
+        mockMvc.perform(request).andExpect(status().isOk());
+
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(MAX_STATEMENTS);
+    }
+
+    private User user(String username, Role role) {
+        return User.builder()
+                .username(username)
+                .email(username + "@test.com")
+                .password("password")
+                .roles(Set.of(role))
+                .tenantId(tenantId)
+                .build();
+    }
+
+    private Property property(String title) {
+        return Property.builder()
+                .title(title)
+                .price(new BigDecimal("100000"))
+                .location("Count City")
+                .tenantId(tenantId)
+                .build();
+    }
+}
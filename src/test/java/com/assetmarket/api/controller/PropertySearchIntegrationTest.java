@@ -8,6 +8,7 @@ import com.assetmarket.api.repository.CategoryRepository;
 import com.assetmarket.api.repository.PropertyRepository;
 import com.assetmarket.api.repository.UserRepository;
 import com.assetmarket.api.security.TenantContext;
+import com.jayway.jsonpath.JsonPath;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -251,4 +252,97 @@ public class PropertySearchIntegrationTest {
                                 .andExpect(jsonPath("$.content", hasSize(4)));
                 // Most recently created should be first (DESC order)
         }
+
+        @Test
+        public void shouldScrollWithCursorPagination() throws Exception {
+                String firstPage = mockMvc.perform(get("/api/v1/properties")
+                                .header("X-Tenant-ID", tenantId)
+                                .param("paging", "cursor")
+                                .param("size", "3")
+                                .param("sortBy", "price")
+                                .param("sortDir", "ASC"))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$.content", hasSize(3)))
+                                .andExpect(jsonPath("$.content[0].title").value("Budget Apartment"))
+                                .andExpect(jsonPath("$.content[2].title").value("Countryside Villa"))
+                                .andExpect(jsonPath("$.hasNext").value(true))
+                                .andExpect(jsonPath("$.totalElements").doesNotExist())
+                                .andReturn().getResponse().getContentAsString();
+
+                String nextCursor = JsonPath.read(firstPage, "$.nextCursor");
+
+                mockMvc.perform(get("/api/v1/properties")
+                                .header("X-Tenant-ID", tenantId)
+                                .param("cursor", nextCursor)
+                                .param("size", "3")
+                                .param("sortBy", "price")
+                                .param("sortDir", "ASC"))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$.content", hasSize(1)))
+                                .andExpect(jsonPath("$.content[0].title").value("Luxury Penthouse"))
+                                .andExpect(jsonPath("$.hasNext").value(false))
+                                .andExpect(jsonPath("$.nextCursor").doesNotExist());
+        }
+
+        @Test
+        public void shouldApplyFiltersInCursorPagination() throws Exception {
+                String firstPage = mockMvc.perform(get("/api/v1/properties")
+                                .header("X-Tenant-ID", tenantId)
+                                .param("paging", "cursor")
+                                .param("location", "Downtown")
+                                .param("size", "1"))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$.content", hasSize(1)))
+                                .andExpect(jsonPath("$.hasNext").value(true))
+                                .andReturn().getResponse().getContentAsString();
+
+                String nextCursor = JsonPath.read(firstPage, "$.nextCursor");
+                String firstTitle = JsonPath.read(firstPage, "$.content[0].title");
+
+                mockMvc.perform(get("/api/v1/properties")
+                                .header("X-Tenant-ID", tenantId)
+                                .param("cursor", nextCursor)
+                                .param("location", "Downtown")
+                                .param("size", "1"))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$.content", hasSize(1)))
+                                .andExpect(jsonPath("$.content[0].title").value(not(firstTitle)))
+                                .andExpect(jsonPath("$.content[0].location").value("Downtown"))
+                                .andExpect(jsonPath("$.hasNext").value(false));
+        }
+
+        @Test
+        public void shouldRejectCursorForDifferentSort() throws Exception {
+                String firstPage = mockMvc.perform(get("/api/v1/properties")
+                                .header("X-Tenant-ID", tenantId)
+                                .param("paging", "cursor")
+                                .param("size", "1")
+                                .param("sortBy", "price"))
+                                .andExpect(status().isOk())
+                                .andReturn().getResponse().getContentAsString();
+
+                mockMvc.perform(get("/api/v1/properties")
+                                .header("X-Tenant-ID", tenantId)
+                                .param("cursor", (String) JsonPath.read(firstPage, "$.nextCursor"))
+                                .param("sortBy", "title"))
+                                .andExpect(status().isBadRequest());
+        }
+
+        @Test
+        public void shouldValidateCursorPageSize() throws Exception {
+                for (String size : new String[] { "0", "-1" }) {
+                        mockMvc.perform(get("/api/v1/properties")
+                                        .header("X-Tenant-ID", tenantId)
+                                        .param("paging", "cursor")
+                                        .param("size", size))
+                                        .andExpect(status().isBadRequest());
+                }
+
+                mockMvc.perform(get("/api/v1/properties")
+                                .header("X-Tenant-ID", tenantId)
+                                .param("paging", "cursor")
+                                .param("size", "100000"))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$.size").value(100));
+        }
 }
@@ -8,7 +8,9 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.io.ClassPathResource;
 import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.context.ActiveProfiles;
@@ -16,9 +18,11 @@ import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
 import java.util.Map;
 import java.util.Set;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.Matchers.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -53,6 +57,9 @@ public class ReviewIntegrationTest {
     @Autowired
     private ObjectMapper objectMapper;
 
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
     private String tenantId = "test-tenant-reviews";
     private Long propertyId;
 
@@ -168,4 +175,69 @@ public class ReviewIntegrationTest {
                 .andExpect(status().isBadRequest())
                 .andExpect(jsonPath("$.message", containsString("already reviewed")));
     }
+
+    @Test
+    @WithMockUser(username = "admin", roles = "ADMIN")
+    public void shouldRebuildRatingSummariesFromReviews() throws Exception {
+        Property rated = propertyRepository.findById(propertyId).get();
+        Property unrated = propertyRepository.save(Property.builder()
+                .title("Unrated Property")
+                .price(new BigDecimal("100000"))
+                .location("Quiet Town")
+                .tenantId(tenantId)
+                .build());
+
+        User reviewer = userRepository.findByUsernameAndTenantId("testuser", tenantId).get();
+        User secondReviewer = userRepository.save(User.builder()
+                .username("seconduser")
+                .email("second@test.com")
+                .password(passwordEncoder.encode("password"))
+                .roles(Set.of(Role.ROLE_USER))
+                .tenantId(tenantId)
+                .build());
+
+        reviewRepository.save(Review.builder().property(rated).user(reviewer).rating(5).tenantId(tenantId).build());
+        reviewRepository
+                .save(Review.builder().property(rated).user(secondReviewer).rating(2).tenantId(tenantId).build());
+
+        // Reviews inserted directly bypass the incremental summary update
+        mockMvc.perform(post("/api/v1/reviews/summaries/rebuild")
+                .header("X-Tenant-ID", tenantId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.updatedProperties", is(2)));
+
+        mockMvc.perform(get("/api/v1/properties")
+                .header("X-Tenant-ID", tenantId)
+                .param("sortBy", "price")
+                .param("sortDir", "ASC"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].id", is(unrated.getId().intValue())))
+                .andExpect(jsonPath("$.content[0].averageRating", nullValue()))
+                .andExpect(jsonPath("$.content[0].reviewCount", is(0)))
+                .andExpect(jsonPath("$.content[1].id", is(rated.getId().intValue())))
+                .andExpect(jsonPath("$.content[1].averageRating", is(3.5)))
+                .andExpect(jsonPath("$.content[1].reviewCount", is(2)));
+    }
+
+    @Test
+    public void shouldBackfillRatingSummariesOnMigration() throws Exception {
+        Property rated = propertyRepository.findById(propertyId).get();
+        User reviewer = userRepository.findByUsernameAndTenantId("testuser", tenantId).get();
+        reviewRepository.saveAndFlush(
+                Review.builder().property(rated).user(reviewer).rating(4).tenantId(tenantId).build());
+
+        // As left by ddl-auto adding the summary columns to a property with reviews
+        jdbcTemplate.update("UPDATE properties SET rating_sum = 0, review_count = 0, average_rating = NULL "
+                + "WHERE id = ?", propertyId);
+
+        jdbcTemplate.execute(new ClassPathResource("db/migration/V4__backfill_rating_summaries.sql")
+                .getContentAsString(StandardCharsets.UTF_8));
+
+        Map<String, Object> summary = jdbcTemplate.queryForMap(
+                "SELECT rating_sum, review_count, average_rating FROM properties WHERE id = ?", propertyId);
+        assertThat(summary)
+                .containsEntry("rating_sum", 4L)
+                .containsEntry("review_count", 1L)
+                .containsEntry("average_rating", 4.0);
+    }
 }
@@ -0,0 +1,100 @@
+package com.assetmarket.api.controller;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@Transactional
+public class TelegramAuthIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Value("${telegram.bot.token}")
+    private String botToken;
+
+    @Test
+    void shouldIssueTokenForSignedInitData() throws Exception {
+        String initData = signedInitData(Instant.now(), "{\"id\":424242,\"first_name\":\"Ann\",\"username\":\"ann\"}");
+
+        mockMvc.perform(post("/api/v1/telegram/auth")
+                .header("X-Tenant-ID", "test-tenant")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"initData\":\"" + initData + "\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.accessToken").isNotEmpty());
+    }
+
+    @Test
+    void shouldRejectTamperedOrStaleInitData() throws Exception {
+        String tampered = signedInitData(Instant.now(), "{\"id\":424243}").replace("424243", "1");
+        String stale = signedInitData(Instant.now().minus(Duration.ofDays(2)), "{\"id\":424244}");
+
+        for (String initData : new String[] { tampered, stale, "hash=00" }) {
+            mockMvc.perform(post("/api/v1/telegram/auth")
+                    .header("X-Tenant-ID", "test-tenant")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content("{\"initData\":\"" + initData + "\"}"))
+                    .andExpect(status().isUnauthorized());
+        }
+    }
+
+    // Telegram keeps one initData per session, and the mini-app posts it on every mount
+    @Test
+    void shouldAcceptTheSameInitDataAgainWithinMaxAge() throws Exception {
+        String initData = signedInitData(Instant.now(), "{\"id\":424245}");
+
+        for (int i = 0; i < 2; i++) {
+            mockMvc.perform(post("/api/v1/telegram/auth")
+                    .header("X-Tenant-ID", "test-tenant")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content("{\"initData\":\"" + initData + "\"}"))
+                    .andExpect(status().isOk());
+        }
+    }
+
+    private String signedInitData(Instant authDate, String userJson) throws Exception {
+        Map<String, String> fields = new TreeMap<>();
+        fields.put("auth_date", String.valueOf(authDate.getEpochSecond()));
+        fields.put("query_id", "AAHdF6IQAAAAAN0XohDhrOrc");
+        fields.put("user", userJson);
+
+        String dataCheckString = fields.entrySet().stream()
+                .map(e -> e.getKey() + "=" + e.getValue())
+                .collect(Collectors.joining("\n"));
+        byte[] secret = hmac("WebAppData".getBytes(StandardCharsets.UTF_8), botToken);
+        String hash = HexFormat.of().formatHex(hmac(secret, dataCheckString));
+
+        return fields.entrySet().stream()
+                .map(e -> e.getKey() + "=" + URLEncoder.encode(e.getValue(), StandardCharsets.UTF_8))
+                .collect(Collectors.joining("&")) + "&hash=" + hash;
+    }
+
+    private static byte[] hmac(byte[] key, String data) throws Exception {
+        Mac mac = Mac.getInstance("HmacSHA256");
+        mac.init(new SecretKeySpec(key, "HmacSHA256"));
+        return mac.doFinal(data.getBytes(StandardCharsets.UTF_8));
+    }
+}
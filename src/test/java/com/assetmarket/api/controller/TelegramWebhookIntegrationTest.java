@@ -0,0 +1,70 @@
+package com.assetmarket.api.controller;
+
+import com.assetmarket.api.entity.OutboxEvent;
+import com.assetmarket.api.repository.OutboxEventRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.Comparator;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+public class TelegramWebhookIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Test
+    void shouldProcessRedeliveredUpdatesOnceAndInOrder() throws Exception {
+        long chatId = 5_000_000 + System.currentTimeMillis() % 1_000_000;
+
+        postStart(1, chatId, "/start alpha");
+        postStart(1, chatId, "/start alpha"); // redelivery
+        postStart(2, chatId, "/start beta");
+
+        List<OutboxEvent> replies = awaitReplies(String.valueOf(chatId), 2);
+        assertThat(replies).hasSize(2);
+        assertThat((String) replies.get(0).getPayload().get("text")).contains("ALPHA");
+        assertThat((String) replies.get(1).getPayload().get("text")).contains("BETA");
+    }
+
+    private void postStart(long updateId, long chatId, String text) throws Exception {
+        String update = """
+                {"update_id": %d, "message": {"message_id": %d, "text": "%s",
+                 "from": {"id": %d}, "chat": {"id": %d, "type": "private"}}}
+                """.formatted(chatId * 10 + updateId, updateId, text, chatId, chatId);
+        mockMvc.perform(post("/api/v1/telegram/webhook")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(update))
+                .andExpect(status().isOk());
+    }
+
+    // Once the later update's reply exists the earlier one has been processed too;
+    // the extra wait gives a wrongly accepted duplicate time to show up
+    private List<OutboxEvent> awaitReplies(String chatId, int expected) throws InterruptedException {
+        for (int i = 0; i < 100 && replies(chatId).size() < expected; i++) {
+            Thread.sleep(50);
+        }
+        Thread.sleep(200);
+        return replies(chatId);
+    }
+
+    private List<OutboxEvent> replies(String chatId) {
+        return outboxEventRepository.findAll().stream()
+                .filter(event -> chatId.equals(event.getPayload().get("chatId")))
+                .sorted(Comparator.comparing(OutboxEvent::getId))
+                .toList();
+    }
+}
@@ -0,0 +1,116 @@
+package com.assetmarket.api.repository;
+
+import com.assetmarket.api.entity.Property;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@ActiveProfiles("test")
+@Transactional
+public class PropertyImageArrayIntegrationTest {
+
+    private final String tenantId = "test-tenant-image-array";
+
+    @Autowired
+    private PropertyRepository propertyRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private SessionFactory sessionFactory;
+
+    private Long propertyId;
+
+    @BeforeEach
+    void setup() {
+        Property property = Property.builder()
+                .title("Gallery")
+                .price(new BigDecimal("100000"))
+                .location("Array City")
+                .imageUrls(new ArrayList<>(List.of("/uploads/a.jpg", "/uploads/b.jpg")))
+                .tenantId(tenantId)
+                .build();
+        propertyId = propertyRepository.save(property).getId();
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void shouldAppendImagesInOneStatement() {
+        Statistics statistics = sessionFactory.getStatistics();
+        statistics.clear();
+
+        LocalDateTime updatedAt = LocalDateTime.of(2030, 1, 2, 3, 4, 5);
+        int updated = propertyRepository.appendImageUrls(propertyId, tenantId,
+                new String[] { "/uploads/c.jpg", "/uploads/d.jpg" }, updatedAt);
+
+        assertThat(updated).isEqualTo(1);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        Property property = propertyRepository.findById(propertyId).orElseThrow();
+        assertThat(property.getImageUrls())
+                .containsExactly("/uploads/a.jpg", "/uploads/b.jpg", "/uploads/c.jpg", "/uploads/d.jpg");
+        assertThat(property.getUpdatedAt()).isEqualTo(updatedAt);
+    }
+
+    @Test
+    void shouldNotAppendImagesAcrossTenants() {
+        int updated = propertyRepository.appendImageUrls(propertyId, "other-tenant", new String[] { "/uploads/x.jpg" },
+                LocalDateTime.now());
+
+        assertThat(updated).isZero();
+        assertThat(propertyRepository.findById(propertyId).orElseThrow().getImageUrls()).hasSize(2);
+    }
+
+    @Test
+    void shouldMoveImagesFromJoinTableInListOrder() throws Exception {
+        jdbcTemplate.execute("UPDATE properties SET image_urls = '{}' WHERE id = " + propertyId);
+        jdbcTemplate.execute("CREATE TABLE property_images (property_id bigint NOT NULL, image_url varchar(255))");
+        for (String url : List.of("/uploads/first.jpg", "/uploads/second.jpg", "/uploads/third.jpg")) {
+            jdbcTemplate.update("INSERT INTO property_images (property_id, image_url) VALUES (?, ?)", propertyId, url);
+        }
+
+        jdbcTemplate.execute(new ClassPathResource("db/migration/V3__property_image_array.sql")
+                .getContentAsString(StandardCharsets.UTF_8));
+
+        assertThat(propertyRepository.findById(propertyId).orElseThrow().getImageUrls())
+                .containsExactly("/uploads/first.jpg", "/uploads/second.jpg", "/uploads/third.jpg");
+        assertThat(jdbcTemplate.queryForObject("SELECT to_regclass('property_images') IS NULL", Boolean.class))
+                .isTrue();
+    }
+
+    @Test
+    void shouldKeepImagesAppendedBeforeTheMove() throws Exception {
+        // setup() left /uploads/a.jpg and /uploads/b.jpg in the column, as if they had
+        // been appended after Hibernate switched to it
+        jdbcTemplate.execute("CREATE TABLE property_images (property_id bigint NOT NULL, image_url varchar(255))");
+        jdbcTemplate.update("INSERT INTO property_images (property_id, image_url) VALUES (?, ?)", propertyId,
+                "/uploads/old.jpg");
+
+        jdbcTemplate.execute(new ClassPathResource("db/migration/V3__property_image_array.sql")
+                .getContentAsString(StandardCharsets.UTF_8));
+
+        assertThat(propertyRepository.findById(propertyId).orElseThrow().getImageUrls())
+                .containsExactly("/uploads/old.jpg", "/uploads/a.jpg", "/uploads/b.jpg");
+    }
+}
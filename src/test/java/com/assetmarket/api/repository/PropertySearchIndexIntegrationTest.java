@@ -0,0 +1,68 @@
+package com.assetmarket.api.repository;
+
+import com.assetmarket.api.entity.SchemaMigration;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+public class PropertySearchIndexIntegrationTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private SchemaMigrationRepository schemaMigrationRepository;
+
+    @BeforeEach
+    void disableSequentialScans() {
+        // The test tables are tiny, so force the planner to show whether an index can serve the query
+        jdbcTemplate.execute("SET LOCAL enable_seqscan = off");
+    }
+
+    @Test
+    void shouldRecordAppliedMigrations() {
+        assertThat(schemaMigrationRepository.findAll())
+                .extracting(SchemaMigration::getScript)
+                .contains("V1__property_search_indexes.sql");
+    }
+
+    @Test
+    void shouldServeTenantListingFromCompositeIndex() {
+        assertThat(plan("SELECT * FROM properties p WHERE p.tenant_id = 't1' ORDER BY p.created_at DESC, p.id DESC LIMIT 20"))
+                .contains("idx_properties_tenant_created");
+    }
+
+    @Test
+    void shouldServePriceRangeFromCompositeIndex() {
+        assertThat(plan("SELECT * FROM properties p WHERE p.tenant_id = 't1' AND p.price BETWEEN 100 AND 200 ORDER BY p.price, p.id LIMIT 20"))
+                .contains("idx_properties_tenant_price");
+    }
+
+    @Test
+    void shouldServeAttributeContainmentFromGinIndex() {
+        assertThat(plan("SELECT * FROM properties p WHERE p.attributes @> '{\"bedrooms\": 3}'::jsonb"))
+                .contains("idx_properties_attributes");
+    }
+
+    @Test
+    void shouldServeLocationSubstringFromTrigramIndex() {
+        assertThat(plan("SELECT * FROM properties p WHERE p.location ILIKE '%Downtown%'"))
+                .contains("idx_properties_location_trgm");
+    }
+
+    private String plan(String sql) {
+        List<String> lines = jdbcTemplate.queryForList("EXPLAIN " + sql, String.class);
+        return String.join("\n", lines);
+    }
+}
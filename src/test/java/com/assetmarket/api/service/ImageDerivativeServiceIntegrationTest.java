@@ -0,0 +1,54 @@
+package com.assetmarket.api.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = "app.upload.derivatives.max-pixels=20000")
+@ActiveProfiles("test")
+public class ImageDerivativeServiceIntegrationTest {
+
+    @Autowired
+    private ImageDerivativeService imageDerivativeService;
+
+    @Autowired
+    private BlobStore blobStore;
+
+    @Test
+    void shouldGenerateVariantsWithinPixelBudget() throws Exception {
+        String key = store("derivatives-test/within-budget.png", 200, 100);
+
+        imageDerivativeService.generate(key);
+
+        assertThat(blobStore.exists(ImageVariant.THUMBNAIL.key(key))).isTrue();
+        assertThat(blobStore.exists(ImageVariant.MEDIUM.key(key))).isTrue();
+    }
+
+    @Test
+    void shouldSkipImagesAbovePixelBudget() throws Exception {
+        String key = store("derivatives-test/above-budget.png", 200, 101);
+
+        imageDerivativeService.generate(key);
+
+        assertThat(blobStore.exists(ImageVariant.THUMBNAIL.key(key))).isFalse();
+        assertThat(blobStore.exists(ImageVariant.MEDIUM.key(key))).isFalse();
+    }
+
+    private String store(String key, int width, int height) throws Exception {
+        blobStore.delete(key);
+        for (ImageVariant variant : ImageVariant.values()) {
+            blobStore.delete(variant.key(key));
+        }
+        Path file = blobStore.newTempFile();
+        ImageIO.write(new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB), "png", file.toFile());
+        blobStore.put(key, file, ImageType.PNG.getContentType());
+        return key;
+    }
+}
@@ -0,0 +1,292 @@
+package com.assetmarket.api.service;
+
+import com.jayway.jsonpath.JsonPath;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.startsWith;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.multipart;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Runs the upload endpoints on {@link S3BlobStore} against a minimal in-memory
+ * S3 stand-in (path-style GET, HEAD, PUT and DELETE; signatures are not checked).
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+public class S3BlobStoreIntegrationTest {
+
+    private static final String BUCKET = "test-bucket";
+    private static final String TENANT = "s3-tenant";
+    private static final Map<String, byte[]> objects = new ConcurrentHashMap<>();
+    private static HttpServer s3Stub;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ImageVariantUrls imageVariantUrls;
+
+    @Autowired
+    private BlobStore blobStore;
+
+    @Autowired
+    private ImageDerivativeService imageDerivativeService;
+
+    @DynamicPropertySource
+    static void s3Properties(DynamicPropertyRegistry registry) throws IOException {
+        s3Stub = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        s3Stub.createContext("/", S3BlobStoreIntegrationTest::handle);
+        s3Stub.start();
+
+        String endpoint = "http://localhost:" + s3Stub.getAddress().getPort();
+        registry.add("app.storage.type", () -> "s3");
+        registry.add("app.storage.s3.bucket", () -> BUCKET);
+        registry.add("app.storage.s3.endpoint", () -> endpoint);
+        registry.add("app.storage.s3.path-style", () -> "true");
+        registry.add("app.storage.s3.access-key", () -> "test-access-key");
+        registry.add("app.storage.s3.secret-key", () -> "test-secret-key");
+        registry.add("app.upload.variant-check-interval", () -> "0s");
+    }
+
+    @AfterAll
+    static void stopStub() {
+        s3Stub.stop(0);
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void shouldStoreUploadsAndVariantsInTheBucket() throws Exception {
+        byte[] png = png(800, 400);
+        String sha256 = sha256(png);
+
+        mockMvc.perform(multipart("/api/v1/properties/upload")
+                .file(new MockMultipartFile("file", "photo.png", MediaType.IMAGE_PNG_VALUE, png))
+                .header("X-Tenant-ID", TENANT))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.url").value("http://localhost:" + s3Stub.getAddress().getPort()
+                        + "/" + BUCKET + "/" + TENANT + "/" + sha256 + ".png"));
+
+        assertThat(objects.get(TENANT + "/" + sha256 + ".png")).isEqualTo(png);
+        String thumbnailKey = TENANT + "/" + sha256 + "_thumb.jpg";
+        for (int i = 0; i < 100 && !objects.containsKey(thumbnailKey); i++) {
+            Thread.sleep(50);
+        }
+        assertThat(ImageIO.read(new ByteArrayInputStream(objects.get(thumbnailKey))).getWidth()).isEqualTo(320);
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void shouldPresignDirectUploadsAndVerifyThemOnCompletion() throws Exception {
+        byte[] png = png(100, 100);
+        String sha256 = sha256(png);
+
+        String body = mockMvc.perform(post("/api/v1/properties/uploads/presign")
+                .header("X-Tenant-ID", TENANT)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("""
+                        {"contentType": "image/png", "size": %d, "sha256": "%s"}
+                        """.formatted(png.length, sha256)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.method").value("PUT"))
+                .andExpect(jsonPath("$.uploadUrl", startsWith("http://localhost:")))
+                .andExpect(jsonPath("$.uploadUrl", containsString("X-Amz-Signature=")))
+                .andExpect(jsonPath("$.headers['x-amz-checksum-sha256']").exists())
+                .andReturn().getResponse().getContentAsString();
+        String key = JsonPath.read(body, "$.key");
+
+        // The client's PUT to the presigned URL
+        objects.put(key, png);
+
+        mockMvc.perform(post("/api/v1/properties/uploads/complete")
+                .header("X-Tenant-ID", TENANT)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"key\": \"" + key + "\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.url", containsString(key)));
+
+        String forged = TENANT + "/" + "0".repeat(64) + ".png";
+        objects.put(forged, "<html>not an image</html>".getBytes(StandardCharsets.UTF_8));
+
+        mockMvc.perform(post("/api/v1/properties/uploads/complete")
+                .header("X-Tenant-ID", TENANT)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"key\": \"" + forged + "\"}"))
+                .andExpect(status().isBadRequest());
+        assertThat(objects).doesNotContainKey(forged);
+    }
+
+    @Test
+    void shouldUseOriginalsUntilVariantsExist() throws Exception {
+        String ready = TENANT + "/ready.png";
+        objects.put(ready, new byte[1]);
+        objects.put(TENANT + "/ready_thumb.jpg", new byte[1]);
+        objects.put(TENANT + "/ready_medium.jpg", new byte[1]);
+
+        // Looked up in the background; the request thread never waits on the bucket
+        assertThat(imageVariantUrls.of(blobStore.url(ready)).getThumbnail()).isEqualTo(blobStore.url(ready));
+        assertThat(awaitThumbnail(ready)).isEqualTo(blobStore.url(TENANT + "/ready_thumb.jpg"));
+        assertThat(imageVariantUrls.of(blobStore.url(ready)).getMedium())
+                .isEqualTo(blobStore.url(TENANT + "/ready_medium.jpg"));
+    }
+
+    @Test
+    void shouldRequeueGenerationOfVariantsStillMissing() throws Exception {
+        // As if the upload's job had been dropped from a full queue
+        String dropped = TENANT + "/dropped.png";
+        objects.put(dropped, png(400, 200));
+
+        assertThat(awaitThumbnail(dropped)).isEqualTo(blobStore.url(TENANT + "/dropped_thumb.jpg"));
+    }
+
+    @Test
+    void shouldMarkImagesThatCannotHaveVariants() throws Exception {
+        String webp = TENANT + "/photo.webp";
+        objects.put(webp, "RIFF\0\0\0\0WEBPVP8 ".getBytes(StandardCharsets.US_ASCII));
+
+        imageDerivativeService.generate(webp);
+
+        assertThat(objects).containsKey(TENANT + "/photo_novariants");
+        assertThat(objects).doesNotContainKey(TENANT + "/photo_thumb.jpg");
+    }
+
+    private String awaitThumbnail(String key) throws InterruptedException {
+        String url = blobStore.url(key);
+        String thumbnail = imageVariantUrls.of(url).getThumbnail();
+        for (int i = 0; i < 100 && thumbnail.equals(url); i++) {
+            Thread.sleep(50);
+            thumbnail = imageVariantUrls.of(url).getThumbnail();
+        }
+        return thumbnail;
+    }
+
+    private static void handle(HttpExchange exchange) throws IOException {
+        String prefix = "/" + BUCKET + "/";
+        String path = exchange.getRequestURI().getPath();
+        String key = path.startsWith(prefix) ? path.substring(prefix.length()) : null;
+        byte[] object = key != null ? objects.get(key) : null;
+
+        switch (exchange.getRequestMethod()) {
+            case "PUT" -> {
+                byte[] body = readBody(exchange);
+                objects.put(key, body);
+                // The SDK checks the returned ETag against the MD5 of what it sent
+                exchange.getResponseHeaders().add("ETag", "\"" + md5(body) + "\"");
+                exchange.sendResponseHeaders(200, -1);
+            }
+            case "HEAD" -> {
+                if (object == null) {
+                    exchange.sendResponseHeaders(404, -1);
+                } else {
+                    exchange.getResponseHeaders().add("Content-Length", String.valueOf(object.length));
+                    exchange.sendResponseHeaders(200, -1);
+                }
+            }
+            case "GET" -> {
+                if (object == null) {
+                    byte[] error = "<Error><Code>NoSuchKey</Code></Error>".getBytes(StandardCharsets.UTF_8);
+                    exchange.sendResponseHeaders(404, error.length);
+                    exchange.getResponseBody().write(error);
+                } else {
+                    String range = exchange.getRequestHeaders().getFirst("Range");
+                    byte[] content = object;
+                    int status = 200;
+                    if (range != null) {
+                        int end = Integer.parseInt(range.substring(range.indexOf('-') + 1));
+                        content = Arrays.copyOf(object, Math.min(end + 1, object.length));
+                        status = 206;
+                    }
+                    exchange.sendResponseHeaders(status, content.length);
+                    exchange.getResponseBody().write(content);
+                }
+            }
+            case "DELETE" -> {
+                objects.remove(key);
+                exchange.sendResponseHeaders(204, -1);
+            }
+            default -> exchange.sendResponseHeaders(405, -1);
+        }
+        exchange.close();
+    }
+
+    // Over plain HTTP the SDK signs the payload in aws-chunked frames:
+    // "<hex size>;chunk-signature=...\r\n<bytes>\r\n", ending with a zero-size frame
+    private static byte[] readBody(HttpExchange exchange) throws IOException {
+        InputStream in = exchange.getRequestBody();
+        String contentSha = exchange.getRequestHeaders().getFirst("x-amz-content-sha256");
+        if (contentSha == null || !contentSha.startsWith("STREAMING-")) {
+            return in.readAllBytes();
+        }
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        while (true) {
+            String header = readLine(in);
+            int size = Integer.parseInt(header.substring(0, header.indexOf(';')), 16);
+            if (size == 0) {
+                return body.toByteArray();
+            }
+            body.write(in.readNBytes(size));
+            readLine(in);
+        }
+    }
+
+    private static String md5(byte[] content) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("MD5").digest(content));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String readLine(InputStream in) throws IOException {
+        StringBuilder line = new StringBuilder();
+        int c;
+        while ((c = in.read()) != -1 && c != '\n') {
+            if (c != '\r') {
+                line.append((char) c);
+            }
+        }
+        return line.toString();
+    }
+
+    private static byte[] png(int width, int height) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB), "png", out);
+        return out.toByteArray();
+    }
+
+    private static String sha256(byte[] content) throws Exception {
+        return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(content));
+    }
+}
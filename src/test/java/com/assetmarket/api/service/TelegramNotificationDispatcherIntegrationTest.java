@@ -0,0 +1,210 @@
+package com.assetmarket.api.service;
+
+import com.assetmarket.api.entity.OutboxEvent;
+import com.assetmarket.api.entity.OutboxStatus;
+import com.assetmarket.api.repository.OutboxEventRepository;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+public class TelegramNotificationDispatcherIntegrationTest {
+
+    private record ReceivedRequest(String path, String body, long receivedAt) {
+    }
+
+    private static final BlockingQueue<ReceivedRequest> received = new LinkedBlockingQueue<>();
+    private static final Queue<Integer> scriptedStatuses = new ConcurrentLinkedQueue<>();
+    private static HttpServer telegramStub;
+
+    @Autowired
+    private TelegramService telegramService;
+
+    @Autowired
+    private TelegramNotificationDispatcher dispatcher;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @DynamicPropertySource
+    static void telegramProperties(DynamicPropertyRegistry registry) throws IOException {
+        telegramStub = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        telegramStub.createContext("/", exchange -> {
+            String body = new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8);
+            received.add(new ReceivedRequest(exchange.getRequestURI().getPath(), body, System.nanoTime()));
+            Integer status = scriptedStatuses.poll();
+            byte[] response = "{\"ok\":true,\"result\":{}}".getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(status != null ? status : 200, response.length);
+            exchange.getResponseBody().write(response);
+            exchange.close();
+        });
+        telegramStub.start();
+
+        registry.add("telegram.bot.api-url", () -> "http://localhost:" + telegramStub.getAddress().getPort());
+        registry.add("telegram.dispatcher.per-chat-interval", () -> "300ms");
+        registry.add("telegram.dispatcher.max-attempts", () -> "3");
+        registry.add("telegram.dispatcher.initial-backoff", () -> "20ms");
+        registry.add("outbox.poller.enabled", () -> "true");
+        registry.add("outbox.poll-interval-ms", () -> "100");
+        registry.add("outbox.retry-backoff", () -> "1h");
+    }
+
+    @AfterAll
+    static void stopStub() {
+        telegramStub.stop(0);
+    }
+
+    @BeforeEach
+    void reset() {
+        received.clear();
+        scriptedStatuses.clear();
+    }
+
+    @Test
+    void shouldSendOnlyAfterTheTransactionCommits() throws Exception {
+        transactionTemplate.executeWithoutResult(status -> {
+            telegramService.sendBotMessage("1001", "Inquiry sent");
+            try {
+                assertThat(received.poll(300, TimeUnit.MILLISECONDS)).isNull();
+            } catch (InterruptedException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+
+        ReceivedRequest request = received.poll(5, TimeUnit.SECONDS);
+        assertThat(request).isNotNull();
+        assertThat(request.path()).endsWith("/sendMessage");
+        assertThat(request.body()).contains("\"chat_id\":\"1001\"").contains("Inquiry sent");
+    }
+
+    @Test
+    void shouldDropNotificationsOfRolledBackTransactions() throws Exception {
+        transactionTemplate.executeWithoutResult(status -> {
+            telegramService.sendBotMessage("1002", "Never delivered");
+            status.setRollbackOnly();
+        });
+
+        assertThat(received.poll(500, TimeUnit.MILLISECONDS)).isNull();
+    }
+
+    @Test
+    void shouldRescheduleOutboxEventsWhoseDeliveryFailed() throws Exception {
+        scriptedStatuses.add(400);
+
+        telegramService.sendBotMessage("1006", "Rejected once");
+
+        assertThat(received.poll(5, TimeUnit.SECONDS)).isNotNull();
+        OutboxEvent event = awaitEvent(e -> "1006".equals(e.getPayload().get("chatId")) && e.getLastError() != null);
+        assertThat(event.getStatus()).isEqualTo(OutboxStatus.PENDING);
+        assertThat(event.getAttempts()).isEqualTo(1);
+        assertThat(event.getAvailableAt()).isAfter(LocalDateTime.now().plusMinutes(30));
+        assertThat(event.getLastError())
+                .isEqualTo("org.springframework.web.client.HttpClientErrorException$BadRequest (HTTP 400)");
+    }
+
+    @Test
+    void shouldDiscardOutcomesOfExpiredClaims() {
+        // Re-claimed by another node after this node's lease ran out
+        OutboxEvent event = outboxEventRepository.save(OutboxEvent.builder()
+                .eventType(TelegramOutboxSink.EVENT_TYPE)
+                .payload(Map.of("chatId", "1008", "text", "Claimed twice"))
+                .status(OutboxStatus.PROCESSING)
+                .attempts(2)
+                .lockedBy("other-node")
+                .availableAt(LocalDateTime.now().plusHours(1))
+                .build());
+
+        assertThat(outboxEventRepository.scheduleRetry(event.getId(), "this-node", 1,
+                LocalDateTime.now(), "late failure")).isZero();
+        assertThat(outboxEventRepository.markProcessed(event.getId(), "other-node", 1, OutboxStatus.SENT,
+                LocalDateTime.now(), null)).isZero();
+        assertThat(outboxEventRepository.findById(event.getId()).orElseThrow().getStatus())
+                .isEqualTo(OutboxStatus.PROCESSING);
+
+        assertThat(outboxEventRepository.markProcessed(event.getId(), "other-node", 2, OutboxStatus.SENT,
+                LocalDateTime.now(), null)).isEqualTo(1);
+    }
+
+    @Test
+    void shouldRetryFailedSends() throws Exception {
+        scriptedStatuses.add(500);
+        scriptedStatuses.add(502);
+
+        dispatcher.dispatch(TelegramNotification.message("1003", "Eventually")).get(5, TimeUnit.SECONDS);
+
+        assertThat(received).hasSize(3);
+    }
+
+    @Test
+    void shouldRecordClientMetricsWithoutTheBotToken() throws Exception {
+        dispatcher.dispatch(TelegramNotification.message("1007", "Measured")).get(5, TimeUnit.SECONDS);
+
+        assertThat(meterRegistry.get("http.client.requests")
+                .tag("client.name", "localhost")
+                .tag("uri", "/bot{token}/sendMessage")
+                .timer().count()).isPositive();
+        assertThat(meterRegistry.getMeters())
+                .noneMatch(meter -> meter.getId().getTags().toString().contains("test-bot-token"));
+        assertThat(meterRegistry.get("resilience4j.circuitbreaker.state").tag("name", "telegram").gauges())
+                .isNotEmpty();
+    }
+
+    @Test
+    void shouldSpaceMessagesToTheSameChatButNotAcrossChats() throws Exception {
+        dispatcher.dispatch(TelegramNotification.message("1004", "first"));
+        dispatcher.dispatch(TelegramNotification.message("1004", "second"));
+        dispatcher.dispatch(TelegramNotification.message("1005", "other chat")).get(5, TimeUnit.SECONDS);
+
+        ReceivedRequest first = received.poll(5, TimeUnit.SECONDS);
+        ReceivedRequest other = received.poll(5, TimeUnit.SECONDS);
+        ReceivedRequest second = received.poll(5, TimeUnit.SECONDS);
+
+        assertThat(first.body()).contains("first");
+        assertThat(other.body()).contains("other chat");
+        assertThat(second.body()).contains("second");
+        assertThat(TimeUnit.NANOSECONDS.toMillis(second.receivedAt() - first.receivedAt())).isGreaterThanOrEqualTo(250);
+    }
+
+    private OutboxEvent awaitEvent(Predicate<OutboxEvent> condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (System.nanoTime() < deadline) {
+            for (OutboxEvent event : outboxEventRepository.findAll()) {
+                if (condition.test(event)) {
+                    return event;
+                }
+            }
+            Thread.sleep(50);
+        }
+        throw new AssertionError("Outbox event not found");
+    }
+}
@@ -244,8 +244,8 @@ export default function MerchantDashboard() {
                                 <div key={prop.id} className="group relative overflow-hidden rounded-3xl bg-white p-4 shadow-sm ring-1 ring-zinc-100 dark:bg-zinc-900 dark:ring-zinc-800">
                                     <div className="flex gap-4">
                                         <div className="relative h-20 w-20 flex-shrink-0 overflow-hidden rounded-2xl bg-zinc-100 dark:bg-zinc-800">
-                                            {prop.imageUrls?.[0] ? (
-                                                <Image src={prop.imageUrls[0]} alt={prop.title} fill className="object-cover" />
+                                            {prop.coverImage ? (
+                                                <Image src={prop.coverImage.thumbnail} alt={prop.title} fill className="object-cover" />
                                             ) : (
                                                 <div className="flex h-full w-full items-center justify-center">
                                                     <Package size={20} className="text-zinc-300 dark:text-zinc-600" />
@@ -10,7 +10,7 @@ interface Property {
     title: string;
     price: number;
     location: string;
-    imageUrls: string[];
+    coverImage: { original: string; medium: string; thumbnail: string } | null;
     categoryName: string;
     averageRating: number | null;
     reviewCount: number;
@@ -26,9 +26,9 @@ export default function PropertyCard({ property }: { property: Property }) {
         <div className="group overflow-hidden rounded-2xl bg-white shadow-sm ring-1 ring-zinc-200 transition-all hover:shadow-md dark:bg-zinc-900 dark:ring-zinc-800">
             <Link href={`/property/${property.id}`}>
                 <div className="relative aspect-[4/3] w-full overflow-hidden">
-                    {property.imageUrls && property.imageUrls.length > 0 ? (
+                    {property.coverImage ? (
                         <Image
-                            src={property.imageUrls[0]}
+                            src={property.coverImage.thumbnail}
                             alt={property.title}
                             fill
                             className="object-cover transition-transform duration-500 group-hover:scale-110"